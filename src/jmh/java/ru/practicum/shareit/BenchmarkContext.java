@@ -0,0 +1,161 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public final class BenchmarkContext {
+    private static final int BATCH_SIZE = 10_000;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String database, Map<String, Object> properties) {
+        return start(database, properties, WebApplicationType.NONE);
+    }
+
+    public static ConfigurableApplicationContext start(String database, Map<String, Object> properties,
+                                                       WebApplicationType webApplicationType,
+                                                       ApplicationContextInitializer<?>... initializers) {
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        defaults.put("logging.level.root", "WARN");
+        defaults.put("logging.level.org.springframework.orm.jpa", "WARN");
+        defaults.put("spring.main.banner-mode", "off");
+        defaults.put("logging.level.org.springframework.transaction.interceptor", "WARN");
+        defaults.put("logging.level.org.springframework.orm.jpa.JpaTransactionManager", "WARN");
+        defaults.put("spring.jpa.properties.hibernate.generate_statistics", "false");
+        defaults.putAll(properties);
+        String[] args = defaults.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("test")
+                .web(webApplicationType)
+                .initializers(initializers)
+                .run(args);
+    }
+
+    /**
+     * Seeds {@code owners} owners and as many bookers, {@code itemsPerOwner} items per owner, and bookings and
+     * comments by random bookers for every item.
+     */
+    public static Dataset seedDataset(JdbcTemplate jdbcTemplate, int owners, int itemsPerOwner, int bookingsPerItem,
+                                      int commentsPerItem) {
+        String[] vocabulary = vocabulary(1_000, 42);
+        List<Long> ownerIds = new ArrayList<>(owners);
+        List<Long> bookerIds = new ArrayList<>(owners);
+        for (int i = 0; i < owners; i++) {
+            ownerIds.add(seedUser(jdbcTemplate, "owner" + i));
+            bookerIds.add(seedUser(jdbcTemplate, "booker" + i));
+        }
+        for (Long ownerId : ownerIds) {
+            seedItems(jdbcTemplate, ownerId, itemsPerOwner, vocabulary, ownerId);
+        }
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+        seedBookings(jdbcTemplate, itemIds, bookerIds, bookingsPerItem, 7);
+        seedComments(jdbcTemplate, itemIds, bookerIds, commentsPerItem, 11);
+        return new Dataset(ownerIds, bookerIds, itemIds, vocabulary);
+    }
+
+    public static String[] vocabulary(int size, long seed) {
+        Random random = new Random(seed);
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int j = 0; j < 7; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    public static long seedUser(JdbcTemplate jdbcTemplate, String name) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", name, name + "@bench.ru");
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE name = ?", Long.class, name);
+    }
+
+    public static void seedItems(JdbcTemplate jdbcTemplate, long ownerId, int count, String[] vocabulary, long seed) {
+        Random random = new Random(seed);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String name = vocabulary[random.nextInt(vocabulary.length)] + " " + vocabulary[random.nextInt(vocabulary.length)];
+            StringBuilder description = new StringBuilder();
+            for (int j = 0; j < 8; j++) {
+                description.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            batch.add(new Object[]{name, description.toString().trim(), random.nextInt(10) != 0, ownerId});
+            if (batch.size() == BATCH_SIZE || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+    public static void seedBookings(JdbcTemplate jdbcTemplate, List<Long> itemIds, List<Long> bookerIds,
+                                    int perItem, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime origin = LocalDateTime.now().minusDays(perItem / 2);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < itemIds.size(); i++) {
+            for (int j = 0; j < perItem; j++) {
+                LocalDateTime start = origin.plusDays(j).plusHours(random.nextInt(12));
+                BookingStatus status = BookingStatus.values()[random.nextInt(BookingStatus.values().length)];
+                batch.add(new Object[]{start, start.plusHours(1 + random.nextInt(11)), itemIds.get(i),
+                        bookerIds.get(random.nextInt(bookerIds.size())), status.name()});
+                if (batch.size() == BATCH_SIZE) {
+                    insertBookings(jdbcTemplate, batch);
+                }
+            }
+        }
+        insertBookings(jdbcTemplate, batch);
+    }
+
+    public static void seedComments(JdbcTemplate jdbcTemplate, List<Long> itemIds, List<Long> authorIds,
+                                    int perItem, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (Long itemId : itemIds) {
+            for (int j = 0; j < perItem; j++) {
+                batch.add(new Object[]{"comment " + random.nextInt(), itemId,
+                        authorIds.get(random.nextInt(authorIds.size())), now.minusHours(random.nextInt(1_000))});
+                if (batch.size() == BATCH_SIZE) {
+                    insertComments(jdbcTemplate, batch);
+                }
+            }
+        }
+        insertComments(jdbcTemplate, batch);
+    }
+
+    private static void insertBookings(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                    + "VALUES (?, ?, ?, ?, ?)", batch);
+            batch.clear();
+        }
+    }
+
+    private static void insertComments(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                    batch);
+            batch.clear();
+        }
+    }
+
+    public record Dataset(List<Long> owners, List<Long> bookers, List<Long> items, String[] vocabulary) {
+    }
+}
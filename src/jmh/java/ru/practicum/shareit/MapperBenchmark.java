@@ -0,0 +1,87 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        String[] vocabulary = BenchmarkContext.vocabulary(100, 42);
+        LocalDateTime now = LocalDateTime.now();
+        User owner = user(1L, "owner");
+        User booker = user(2L, "booker");
+        items = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1;
+            Item item = new Item(id, vocabulary[i % vocabulary.length], vocabulary[(i * 7) % vocabulary.length],
+                    true, owner, null);
+            items.add(item);
+            bookings.add(new Booking(id, now.plusDays(i), now.plusDays(i + 1), item, booker, BookingStatus.APPROVED));
+            comments.add(new Comment(id, vocabulary[(i * 3) % vocabulary.length], item, booker, now));
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookings() {
+        return BookingMapper.listToResponseBookingDto(bookings);
+    }
+
+    @Benchmark
+    public List<ItemDto> items() {
+        return ItemMapper.toItemDtoList(items);
+    }
+
+    @Benchmark
+    public List<CommentDto> comments() {
+        return CommentMapper.listToCommentDto(comments);
+    }
+
+    private static User user(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name + "@bench.ru");
+        return user;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.BenchmarkContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Many threads booking disjoint periods either of a handful of items (every admission contends on the same
+ * stripes) or of many items (admissions for different items proceed in parallel).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookingAdmissionBenchmark {
+
+    @Param({"4", "1024"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private List<Long> itemIds;
+    private long bookerId;
+    private final AtomicLong slot = new AtomicLong();
+    private LocalDateTime origin;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("admission" + items, Map.of("spring.datasource.hikari.maximum-pool-size", "32"));
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long ownerId = BenchmarkContext.seedUser(jdbcTemplate, "owner");
+        bookerId = BenchmarkContext.seedUser(jdbcTemplate, "booker");
+        BenchmarkContext.seedItems(jdbcTemplate, ownerId, items, BenchmarkContext.vocabulary(100, 42), 7);
+        jdbcTemplate.update("UPDATE items SET available = TRUE");
+        itemIds = jdbcTemplate.queryForList("SELECT id FROM items", Long.class);
+        bookingService = context.getBean(BookingService.class);
+        origin = LocalDateTime.now().plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponseDto admit() {
+        LocalDateTime start = origin.plusMinutes(slot.getAndIncrement() * 2);
+        BookingDto booking = new BookingDto();
+        booking.setItemId(itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size())));
+        booking.setStart(start);
+        booking.setEnd(start.plusMinutes(1));
+        return bookingService.addBooking(booking, bookerId);
+    }
+}
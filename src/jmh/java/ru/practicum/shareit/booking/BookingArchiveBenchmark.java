@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.BenchmarkContext;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.item.ItemBookingSummaryJob;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booker and owner listings over two million bookings, with every booking in the hot table versus the bookings that
+ * ended more than two weeks ago moved to the archive. CURRENT and FUTURE read the hot table only; ALL and PAST merge
+ * both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class BookingArchiveBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE"})
+    private BookingState state;
+
+    @Param({"false", "true"})
+    private boolean archived;
+
+    @Param({"100"})
+    private int owners;
+
+    @Param({"100"})
+    private int itemsPerOwner;
+
+    @Param({"200"})
+    private int bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private TransactionTemplate request;
+    private BenchmarkContext.Dataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("archive" + state + archived,
+                Map.of("shareit.booking-archive.chunk-size", "10000"));
+        dataset = BenchmarkContext.seedDataset(context.getBean(JdbcTemplate.class), owners, itemsPerOwner,
+                bookingsPerItem, 0);
+        if (archived) {
+            context.getBean(ItemBookingSummaryJob.class).rebuild();
+            context.getBean(BookingArchiver.class).archive(LocalDateTime.now().minusDays(14));
+        }
+        bookingService = context.getBean(BookingService.class);
+        request = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        request.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingPage usersBookings() {
+        Long bookerId = dataset.bookers().get(ThreadLocalRandom.current().nextInt(owners));
+        return request.execute(status -> bookingService.getAllUsersBookings(bookerId, state, null, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public BookingPage itemOwnerBookings() {
+        Long ownerId = dataset.owners().get(ThreadLocalRandom.current().nextInt(owners));
+        return request.execute(status -> bookingService.getAllItemOwnerBookings(ownerId, state, null, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.imports;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.BenchmarkContext;
+import ru.practicum.shareit.imports.dto.ImportJobStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import throughput in rows per second for a {@value #ROWS}-row file, by kind, format and number of parallel chunk
+ * writers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ImportBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int OWNERS = 500;
+
+    @Param({"ITEMS", "BOOKINGS"})
+    private ImportKind kind;
+    @Param({"csv", "ndjson"})
+    private String format;
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private ImportService importService;
+    private JdbcTemplate jdbcTemplate;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("import", Map.of("shareit.import.parallelism", parallelism));
+        importService = context.getBean(ImportService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkContext.Dataset dataset = BenchmarkContext.seedDataset(jdbcTemplate, OWNERS, 2, 0, 0);
+        file = Files.createTempFile("import", "." + format);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            if (kind == ImportKind.ITEMS) {
+                writeItems(writer, dataset.owners());
+            } else {
+                writeBookings(writer, dataset.items(), dataset.bookers());
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void forgetPreviousImport() {
+        jdbcTemplate.update("DELETE FROM import_jobs");
+        if (kind == ImportKind.ITEMS) {
+            jdbcTemplate.update("DELETE FROM items WHERE name LIKE 'imported%'");
+        } else {
+            jdbcTemplate.update("DELETE FROM bookings");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportJobStatus importFile() {
+        return importService.importFile(kind, file);
+    }
+
+    private void writeItems(BufferedWriter writer, List<Long> owners) throws IOException {
+        boolean csv = format.equals("csv");
+        if (csv) {
+            writer.write("name,description,available,ownerId\n");
+        }
+        for (int i = 0; i < ROWS; i++) {
+            long owner = owners.get(i % owners.size());
+            writer.write(csv
+                    ? "imported " + i + ",\"legacy catalogue item, number " + i + "\",true," + owner + "\n"
+                    : "{\"name\":\"imported " + i + "\",\"description\":\"legacy catalogue item, number " + i
+                    + "\",\"available\":true,\"ownerId\":" + owner + "}\n");
+        }
+    }
+
+    private void writeBookings(BufferedWriter writer, List<Long> items, List<Long> bookers) throws IOException {
+        boolean csv = format.equals("csv");
+        if (csv) {
+            writer.write("start,end,itemId,bookerId,status\n");
+        }
+        LocalDateTime origin = LocalDateTime.of(2015, 1, 1, 10, 0);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime start = origin.plusDays(i / items.size());
+            long item = items.get(i % items.size());
+            long booker = bookers.get(i % bookers.size());
+            writer.write(csv
+                    ? start + "," + start.plusHours(4) + "," + item + "," + booker + ",APPROVED\n"
+                    : "{\"start\":\"" + start + "\",\"end\":\"" + start.plusHours(4) + "\",\"itemId\":" + item
+                    + ",\"bookerId\":" + booker + ",\"status\":\"APPROVED\"}\n");
+        }
+    }
+}
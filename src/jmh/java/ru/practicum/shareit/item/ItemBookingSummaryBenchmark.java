@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.BenchmarkContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoBookingsAndComments;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * An owner's item listing with last and next bookings, as items' booking histories grow: read from the booking
+ * summaries on the item rows versus the previous path of loading every non-rejected booking of the items and
+ * scanning them in Java.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemBookingSummaryBenchmark {
+    @Param({"20"})
+    private int owners;
+
+    @Param({"10"})
+    private int itemsPerOwner;
+
+    @Param({"10", "1000"})
+    private int bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private ItemRepository itemRepository;
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate request;
+    private BenchmarkContext.Dataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("summaries" + bookingsPerItem, Map.of());
+        dataset = BenchmarkContext.seedDataset(context.getBean(JdbcTemplate.class), owners, itemsPerOwner,
+                bookingsPerItem, 2);
+        context.getBean(ItemBookingSummaryJob.class).rebuild();
+        context.getBean(ItemCommentCountJob.class).recount();
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        request = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        request.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDtoBookingsAndComments> summary() {
+        Long ownerId = randomOwner();
+        return request.execute(status -> itemService.findAllByOwnerId(ownerId));
+    }
+
+    @Benchmark
+    public List<ItemDtoBookingsAndComments> historyScan() {
+        Long ownerId = randomOwner();
+        return request.execute(status -> scanHistories(ownerId));
+    }
+
+    private Long randomOwner() {
+        return dataset.owners().get(ThreadLocalRandom.current().nextInt(owners));
+    }
+
+    // ItemServiceImpl.findAllByOwnerId before the booking summaries
+    private List<ItemDtoBookingsAndComments> scanHistories(Long ownerId) {
+        List<Item> items = itemRepository.findByOwnerId(ownerId);
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        Map<Long, List<Booking>> bookingsByItem = bookingRepository
+                .findAllByItemIdInAndStatusNotOrderByStartAsc(itemIds, BookingStatus.REJECTED).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Map<Long, List<CommentDto>> commentsByItem = entityManager.createQuery("SELECT c FROM Comment c "
+                        + "JOIN FETCH c.author WHERE c.item.id IN :itemIds ORDER BY c.created ASC", Comment.class)
+                .setParameter("itemIds", itemIds)
+                .getResultList().stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemDtoBookingsAndComments> dtos = new ArrayList<>(items.size());
+        for (Item item : items) {
+            Booking last = null;
+            Booking next = null;
+            for (Booking booking : bookingsByItem.getOrDefault(item.getId(), List.of())) {
+                if (booking.getStart().isBefore(now)) {
+                    last = booking;
+                } else if (next == null && booking.getStart().isAfter(now)) {
+                    next = booking;
+                }
+            }
+            List<CommentDto> comments = commentsByItem.getOrDefault(item.getId(), List.of());
+            dtos.add(new ItemDtoBookingsAndComments(item.getId(), item.getName(), item.getDescription(),
+                    item.isAvailable(),
+                    last == null ? null : new BookingShortDto(last.getId(), last.getBooker().getId()),
+                    next == null ? null : new BookingShortDto(next.getId(), next.getBooker().getId()),
+                    comments, comments.size()));
+        }
+        return dtos;
+    }
+}
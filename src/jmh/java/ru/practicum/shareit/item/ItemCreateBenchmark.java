@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.BenchmarkContext;
+import ru.practicum.shareit.batch.dto.BatchRowResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting a catalogue of {@value #ROWS} items through {@code POST /items} one by one versus one
+ * {@code POST /items/batch}; scores are per item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemCreateBenchmark {
+    private static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private JdbcTemplate jdbcTemplate;
+    private Long ownerId;
+    private List<ItemDto> catalogue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("itemCreate", Map.of());
+        itemService = context.getBean(ItemService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        ownerId = BenchmarkContext.seedUser(jdbcTemplate, "partner");
+        catalogue = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            catalogue.add(new ItemDto(null, "item " + i, "catalogue item number " + i, true, null, null));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearItems() {
+        jdbcTemplate.update("DELETE FROM items");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<ItemDto> singleRow() {
+        List<ItemDto> created = new ArrayList<>(ROWS);
+        for (ItemDto itemDto : catalogue) {
+            created.add(itemService.create(itemDto, ownerId));
+        }
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<BatchRowResult<ItemDto>> batch() {
+        return itemService.createBatch(catalogue, ownerId);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.BenchmarkContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.index.ItemSearchIndex;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private ItemSearchIndex itemSearchIndex;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("search" + items, Map.of("shareit.search.mode", "in-memory"));
+        String[] vocabulary = BenchmarkContext.vocabulary(5_000, 42);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long ownerId = BenchmarkContext.seedUser(jdbcTemplate, "owner");
+        BenchmarkContext.seedItems(jdbcTemplate, ownerId, items, vocabulary, 7);
+        itemRepository = context.getBean(ItemRepository.class);
+        itemSearchIndex = context.getBean(ItemSearchIndex.class);
+        itemSearchIndex.rebuild();
+        text = vocabulary[42];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> ilike() {
+        return itemRepository.search(text, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<ItemDto> invertedIndex() {
+        return itemSearchIndex.search(text, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.BenchmarkContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoBookingsAndComments;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls run inside a read-only transaction, standing in for the open-session-in-view scope of a request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100"})
+    private int owners;
+
+    @Param({"10", "100"})
+    private int itemsPerOwner;
+
+    @Param({"20"})
+    private int bookingsPerItem;
+
+    @Param({"5"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private TransactionTemplate request;
+    private BenchmarkContext.Dataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("items" + owners + "x" + itemsPerOwner, Map.of());
+        dataset = BenchmarkContext.seedDataset(context.getBean(JdbcTemplate.class), owners, itemsPerOwner,
+                bookingsPerItem, commentsPerItem);
+        context.getBean(ItemBookingSummaryJob.class).rebuild();
+        context.getBean(ItemCommentCountJob.class).recount();
+        itemService = context.getBean(ItemService.class);
+        request = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        request.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDtoBookingsAndComments> findAllByOwnerId() {
+        Long ownerId = dataset.owners().get(ThreadLocalRandom.current().nextInt(owners));
+        return request.execute(status -> itemService.findAllByOwnerId(ownerId));
+    }
+
+    @Benchmark
+    public List<ItemDto> search() {
+        String text = dataset.vocabulary()[ThreadLocalRandom.current().nextInt(dataset.vocabulary().length)];
+        return request.execute(status -> itemService.search(text, 0, PAGE_SIZE));
+    }
+}
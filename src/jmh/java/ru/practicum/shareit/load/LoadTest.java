@@ -0,0 +1,203 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.BenchmarkContext;
+import ru.practicum.shareit.item.ItemBookingSummaryJob;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the same HTTP workload (booker and owner booking listings, owner item listing) against the application in
+ * platform-thread and virtual-thread mode and prints throughput and latency percentiles. Options are
+ * {@code key=value} arguments: {@code requests}, {@code concurrency}, {@code items}, {@code bookingsPerItem},
+ * {@code pool} (Hikari size used by both modes), {@code dbLatencyMs} (sleep added to every JDBC execute to stand in
+ * for a remote database) and {@code modes}.
+ */
+public final class LoadTest {
+    private static final int USERS = 50;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        int items = Integer.parseInt(options.getOrDefault("items", "1000"));
+        int bookingsPerItem = Integer.parseInt(options.getOrDefault("bookingsPerItem", "20"));
+        int pool = Integer.parseInt(options.getOrDefault("pool", "20"));
+        long dbLatencyMs = Long.parseLong(options.getOrDefault("dbLatencyMs", "2"));
+
+        System.out.printf("requests=%d concurrency=%d items=%d bookingsPerItem=%d pool=%d dbLatencyMs=%d%n",
+                requests, concurrency, items, bookingsPerItem, pool, dbLatencyMs);
+        System.out.printf("%-9s %10s %9s %9s %9s %9s %8s%n", "mode", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms",
+                "errors");
+        for (String mode : options.getOrDefault("modes", "platform,virtual").split(",")) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("server.port", "0");
+            properties.put("spring.datasource.hikari.maximum-pool-size", pool);
+            properties.put("spring.datasource.hikari.minimum-idle", pool);
+            if (mode.equals("virtual")) {
+                properties.put("spring.profiles.active", "virtual");
+            }
+            try (ConfigurableApplicationContext context = BenchmarkContext.start("load-" + mode, properties,
+                    WebApplicationType.SERVLET, simulatedLatency(dbLatencyMs))) {
+                Workload workload = seed(context, items, bookingsPerItem);
+                run(workload, requests / 5, concurrency);
+                Result result = run(workload, requests, concurrency);
+                System.out.printf("%-9s %10.0f %9.2f %9.2f %9.2f %9.2f %8d%n", mode, result.throughput(),
+                        result.percentile(0.50), result.percentile(0.95), result.percentile(0.99),
+                        result.percentile(1.0), result.errors());
+            }
+        }
+    }
+
+    private static Workload seed(ConfigurableApplicationContext context, int items, int bookingsPerItem) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String[] vocabulary = BenchmarkContext.vocabulary(1_000, 42);
+        List<Long> owners = new ArrayList<>();
+        List<Long> bookers = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            owners.add(BenchmarkContext.seedUser(jdbcTemplate, "owner" + i));
+            bookers.add(BenchmarkContext.seedUser(jdbcTemplate, "booker" + i));
+        }
+        for (Long owner : owners) {
+            BenchmarkContext.seedItems(jdbcTemplate, owner, items / USERS, vocabulary, owner);
+        }
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items", Long.class);
+        BenchmarkContext.seedBookings(jdbcTemplate, itemIds, bookers, bookingsPerItem, 7);
+        context.getBean(ItemBookingSummaryJob.class).rebuild();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        return new Workload("http://localhost:" + port, owners, bookers);
+    }
+
+    private static Result run(Workload workload, int requests, int concurrency) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long startedAt = System.nanoTime();
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sentAt = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(workload.nextRequest(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sentAt;
+                    }
+                    return null;
+                });
+            }
+        }
+        return new Result(requests / ((System.nanoTime() - startedAt) / 1e9), latencies, errors.get());
+    }
+
+    private static ApplicationContextInitializer<ConfigurableApplicationContext> simulatedLatency(long millis) {
+        return context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return millis > 0 && bean instanceof DataSource ? delayed(bean, DataSource.class, millis) : bean;
+            }
+        });
+    }
+
+    private static Object delayed(Object target, Class<?> type, long millis) {
+        return Proxy.newProxyInstance(LoadTest.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(millis);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection && method.getName().equals("getConnection")) {
+                return delayed(result, Connection.class, millis);
+            }
+            if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                return delayed(result, PreparedStatement.class, millis);
+            }
+            if (result instanceof Statement && method.getName().equals("createStatement")) {
+                return delayed(result, Statement.class, millis);
+            }
+            return result;
+        });
+    }
+
+    private record Workload(String baseUrl, List<Long> owners, List<Long> bookers) {
+
+        HttpRequest nextRequest() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String path;
+            Long userId;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    path = "/bookings?state=ALL&size=20";
+                    userId = bookers.get(random.nextInt(bookers.size()));
+                }
+                case 1 -> {
+                    path = "/bookings/owner?state=PAST&size=20";
+                    userId = owners.get(random.nextInt(owners.size()));
+                }
+                default -> {
+                    path = "/items";
+                    userId = owners.get(random.nextInt(owners.size()));
+                }
+            }
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("X-Sharer-User-Id", userId.toString())
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+    }
+
+    private record Result(double throughput, long[] latencies, int errors) {
+
+        double percentile(double quantile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
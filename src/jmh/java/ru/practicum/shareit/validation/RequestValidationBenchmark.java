@@ -0,0 +1,161 @@
+package ru.practicum.shareit.validation;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating a mix of signups, new items, bookings and comments, {@code invalidPercent} of them broken: through
+ * {@link RequestRules} versus the previous path of Bean Validation, {@code String.matches} for the email and an
+ * exception per failed check. Scores are per payload; run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestValidationBenchmark {
+    private static final int PAYLOADS = 1024;
+    private static final String EMAIL_PATTERN = "^[\\w-.]+@([\\w-]+\\.)+[\\w-]{2,4}$";
+
+    @Param({"0", "10", "50"})
+    private int invalidPercent;
+
+    private final Object[] payloads = new Object[PAYLOADS];
+    private final Object[] annotated = new Object[PAYLOADS];
+    private LocalDateTime now;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        now = LocalDateTime.now();
+        Random random = new Random(42);
+        for (int i = 0; i < PAYLOADS; i++) {
+            boolean invalid = random.nextInt(100) < invalidPercent;
+            switch (i % 4) {
+                case 0 -> {
+                    UserDto user = new UserDto(null, invalid ? "jo" : "user" + i, "user" + i + "@mail.ru");
+                    payloads[i] = user;
+                    annotated[i] = new AnnotatedUser(user.getName(), user.getEmail());
+                }
+                case 1 -> {
+                    ItemDto item = new ItemDto(null, "drill " + i, invalid ? "short" : "cordless drill number " + i,
+                            true, null, null);
+                    payloads[i] = item;
+                    annotated[i] = new AnnotatedItem(item.getName(), item.getDescription(), item.getAvailable());
+                }
+                case 2 -> {
+                    LocalDateTime start = now.plusDays(1 + i % 30);
+                    BookingDto booking = new BookingDto(null, start, invalid ? start : start.plusDays(2), 1L, null,
+                            null);
+                    payloads[i] = booking;
+                    annotated[i] = new AnnotatedBooking(booking.getStart(), booking.getEnd(), booking.getItemId());
+                }
+                default -> {
+                    CommentDto comment = new CommentDto(null, invalid ? " " : "works fine " + i, null, null);
+                    payloads[i] = comment;
+                    annotated[i] = comment;
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAYLOADS)
+    public void requestRules(Blackhole blackhole) {
+        for (Object payload : payloads) {
+            String error = switch (payload) {
+                case UserDto user -> RequestRules.newUser(user);
+                case ItemDto item -> RequestRules.newItem(item);
+                case BookingDto booking -> RequestRules.newBooking(booking, now);
+                case CommentDto comment -> RequestRules.comment(comment);
+                default -> throw new IllegalStateException();
+            };
+            blackhole.consume(error);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAYLOADS)
+    public void beanValidation(Blackhole blackhole) {
+        for (Object payload : annotated) {
+            try {
+                validateLegacy(payload);
+                blackhole.consume(payload);
+            } catch (ValidationException | jakarta.validation.ValidationException e) {
+                blackhole.consume(e.getMessage());
+            }
+        }
+    }
+
+    private void validateLegacy(Object payload) {
+        if (payload instanceof AnnotatedUser user && !user.email.matches(EMAIL_PATTERN)) {
+            throw new jakarta.validation.ValidationException("Email is not valid");
+        }
+        if (payload instanceof CommentDto comment) {
+            if (comment.getText().isBlank()) {
+                throw new ValidationException("The text in the comment is empty");
+            }
+            return;
+        }
+        if (!validator.validate(payload).isEmpty()) {
+            throw new ValidationException("Constraint violation");
+        }
+        if (payload instanceof AnnotatedBooking booking) {
+            if (booking.end.isBefore(now) || booking.start.isBefore(now)) {
+                throw new ValidationException("The booking time is incorrect");
+            }
+            if (!booking.end.isAfter(booking.start)) {
+                throw new ValidationException("The start time must be earlier than the end time.");
+            }
+        }
+    }
+
+    // The constraints the request DTOs and User carried before RequestRules
+
+    record AnnotatedUser(@NotNull @Size(min = 3, max = 100) String name, @Email @NotNull String email) {
+    }
+
+    record AnnotatedItem(@NotNull @Size(min = 2, max = 100) String name,
+                         @NotNull @Size(min = 10, max = 1000) String description,
+                         @NotNull Boolean available) {
+    }
+
+    record AnnotatedBooking(@NotNull LocalDateTime start, @NotNull LocalDateTime end, @NotNull Long itemId) {
+    }
+}
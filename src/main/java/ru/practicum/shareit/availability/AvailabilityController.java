@@ -0,0 +1,28 @@
+package ru.practicum.shareit.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.availability.dto.ItemAvailabilityDto;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/items")
+@RequiredArgsConstructor
+public class AvailabilityController {
+    private final AvailabilityService availabilityService;
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<ItemAvailabilityDto> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(availabilityService.getAvailability(itemId, from, to));
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.availability;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRejectedEvent;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+public class AvailabilityIndex {
+    public static final String CACHE_NAME = "itemTimelines";
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final ConcurrentMap<Object, Object> timelines;
+    private final AtomicLong writes = new AtomicLong();
+
+    public AvailabilityIndex(BookingRepository bookingRepository, ItemRepository itemRepository,
+                             CacheManager cacheManager) {
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.timelines = ((CaffeineCache) cacheManager.getCache(CACHE_NAME)).getNativeCache().asMap();
+    }
+
+    // Loaded outside the map: a computeIfAbsent would hold the hash bin, and other keys with it, for the query
+    public ItemTimeline timeline(Long itemId) {
+        ItemTimeline cached = (ItemTimeline) timelines.get(itemId);
+        if (cached != null) {
+            return cached;
+        }
+        long writesBefore = writes.get();
+        return cache(itemId, load(itemId), writesBefore);
+    }
+
+    public Map<Long, ItemTimeline> timelines(Collection<Long> itemIds) {
+        Map<Long, ItemTimeline> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemTimeline timeline = (ItemTimeline) timelines.get(itemId);
+            if (timeline == null) {
+                missing.add(itemId);
+            } else {
+                result.put(itemId, timeline);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long writesBefore = writes.get();
+        Map<Long, List<Booking>> bookingsByItem = bookingRepository
+                .findAllByItemIdInAndStatusNotOrderByStartAsc(missing, BookingStatus.REJECTED).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        for (Long itemId : missing) {
+            result.put(itemId, cache(itemId, ItemTimeline.of(bookingsByItem.getOrDefault(itemId, List.of())),
+                    writesBefore));
+        }
+        return result;
+    }
+
+    public void add(Booking booking) {
+        writes.incrementAndGet();
+        timelines.computeIfPresent(booking.getItem().getId(), (id, timeline) ->
+                ((ItemTimeline) timeline).with(booking.getId(), booking.getStart(), booking.getEnd()));
+    }
+
+    // After commit: a timeline loaded between this update and the commit would otherwise cache the booking again
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingRejected(BookingRejectedEvent event) {
+        writes.incrementAndGet();
+        timelines.computeIfPresent(event.itemId(), (id, timeline) ->
+                ((ItemTimeline) timeline).without(event.bookingId()));
+    }
+
+    // A booking committed while a timeline is read may be absent from it and its update was a no-op for the
+    // missing entry, so a timeline is only cached when no update happened in between. The second check covers an
+    // update that ran between the first one and the put.
+    private ItemTimeline cache(Long itemId, ItemTimeline timeline, long writesBefore) {
+        if (writes.get() != writesBefore) {
+            return timeline;
+        }
+        ItemTimeline existing = (ItemTimeline) timelines.putIfAbsent(itemId, timeline);
+        if (existing != null) {
+            return existing;
+        }
+        if (writes.get() != writesBefore) {
+            timelines.remove(itemId, timeline);
+        }
+        return timeline;
+    }
+
+    private ItemTimeline load(Long itemId) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item with id=" + itemId + " not found");
+        }
+        return ItemTimeline.of(bookingRepository.findAllByItemIdAndStatusNotOrderByStartAsc(itemId,
+                BookingStatus.REJECTED));
+    }
+}
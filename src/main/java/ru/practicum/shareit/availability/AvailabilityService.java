@@ -0,0 +1,26 @@
+package ru.practicum.shareit.availability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.availability.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+    private final AvailabilityIndex availabilityIndex;
+
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        validateWindow(from, to);
+        ItemTimeline timeline = availabilityIndex.timeline(itemId);
+        return new ItemAvailabilityDto(itemId, from, to, timeline.isFree(from, to), timeline.freeSlots(from, to));
+    }
+
+    public static void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ValidationException("Invalid availability window: from=" + from + ", to=" + to);
+        }
+    }
+}
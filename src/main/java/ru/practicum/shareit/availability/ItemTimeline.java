@@ -0,0 +1,161 @@
+package ru.practicum.shareit.availability;
+
+import ru.practicum.shareit.availability.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.Booking;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable set of booked intervals of one item, sorted by start. {@code maxEnds[i]} holds the latest end among
+ * the first {@code i + 1} intervals, which makes both "is the window free" and "first interval that may reach
+ * into the window" binary searches. Updates return a copy.
+ */
+public final class ItemTimeline {
+    public static final ItemTimeline EMPTY = new ItemTimeline(new long[0], new long[0], new long[0]);
+
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private ItemTimeline(long[] ids, long[] starts, long[] ends) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    public static ItemTimeline of(List<Booking> bookings) {
+        List<Booking> sorted = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                .toList();
+        int size = sorted.size();
+        long[] ids = new long[size];
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        for (int i = 0; i < size; i++) {
+            Booking booking = sorted.get(i);
+            ids[i] = booking.getId();
+            starts[i] = toMicros(booking.getStart());
+            ends[i] = toMicros(booking.getEnd());
+        }
+        return new ItemTimeline(ids, starts, ends);
+    }
+
+    public ItemTimeline with(long id, LocalDateTime start, LocalDateTime end) {
+        if (indexOf(id) >= 0) {
+            return this;
+        }
+        long startMicros = toMicros(start);
+        int position = firstAfter(starts, startMicros);
+        return new ItemTimeline(insert(ids, position, id), insert(starts, position, startMicros),
+                insert(ends, position, toMicros(end)));
+    }
+
+    public ItemTimeline without(long id) {
+        int position = indexOf(id);
+        if (position < 0) {
+            return this;
+        }
+        return new ItemTimeline(remove(ids, position), remove(starts, position), remove(ends, position));
+    }
+
+    public boolean isFree(LocalDateTime from, LocalDateTime to) {
+        int candidates = firstNotBefore(starts, toMicros(to));
+        return candidates == 0 || maxEnds[candidates - 1] <= toMicros(from);
+    }
+
+    public List<FreeSlotDto> freeSlots(LocalDateTime from, LocalDateTime to) {
+        long windowEnd = toMicros(to);
+        long cursor = toMicros(from);
+        List<FreeSlotDto> slots = new ArrayList<>();
+        for (int i = firstAfter(maxEnds, cursor); i < starts.length && starts[i] < windowEnd; i++) {
+            if (ends[i] <= cursor) {
+                continue;
+            }
+            if (starts[i] > cursor) {
+                slots.add(new FreeSlotDto(toDateTime(cursor), toDateTime(starts[i])));
+            }
+            cursor = ends[i];
+            if (cursor >= windowEnd) {
+                return slots;
+            }
+        }
+        slots.add(new FreeSlotDto(toDateTime(cursor), to));
+        return slots;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int firstNotBefore(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int firstAfter(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insert(long[] values, int position, long value) {
+        long[] result = Arrays.copyOf(values, values.length + 1);
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        result[position] = value;
+        return result;
+    }
+
+    private static long[] remove(long[] values, int position) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, position);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.availability.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class FreeSlotDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.availability.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean free;
+    private List<FreeSlotDto> freeSlots;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.practicum.shareit.exception.ValidationException;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.batch")
+public class BatchProperties {
+    private int maxSize = 1000;
+
+    public void checkSize(int rows) {
+        if (rows > maxSize) {
+            throw new ValidationException("Batch is limited to " + maxSize + " rows, got " + rows);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.batch.dto;
+
+/**
+ * Outcome of one row of a batch request; {@code index} is the row's position in the submitted array.
+ */
+public record BatchRowResult<T>(int index, BatchRowStatus status, T value, String error) {
+
+    public static <T> BatchRowResult<T> created(int index, T value) {
+        return new BatchRowResult<>(index, BatchRowStatus.CREATED, value, null);
+    }
+
+    public static <T> BatchRowResult<T> rejected(int index, String error) {
+        return new BatchRowResult<>(index, BatchRowStatus.REJECTED, null, error);
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.batch.dto;
+
+public enum BatchRowStatus {
+    CREATED,
+    REJECTED
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished booking moved to {@code bookings_archive} by {@link BookingArchiver}. Same attributes as
+ * {@link Booking}, so that listing queries can be built against either.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "bookings_archive")
+public class ArchivedBooking {
+    @Id
+    private Long id;
+    @Column(name = "start_date")
+    private LocalDateTime start;
+    @Column(name = "end_date")
+    private LocalDateTime end;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "booker_id", nullable = false)
+    private User booker;
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    // Detached, for mapping only
+    public Booking toBooking() {
+        return new Booking(id, start, end, item, booker, status);
+    }
+}
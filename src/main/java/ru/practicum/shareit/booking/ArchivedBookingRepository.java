@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    Optional<ArchivedBooking> findDetailedById(Long id);
+
+    boolean existsByItemIdAndBookerIdAndEndBefore(Long itemId, Long bookerId, LocalDateTime now);
+}
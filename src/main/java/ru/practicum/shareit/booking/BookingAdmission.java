@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.ItemBookingSummaries;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class BookingAdmission {
+    static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int STRIPES = 256;
+    private static final String OVERLAP_CONSTRAINT = "ex_bookings_item_period";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final BookingRepository bookingRepository;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public BookingAdmission(BookingRepository bookingRepository, ItemBookingSummaries itemBookingSummaries,
+                            PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.itemBookingSummaries = itemBookingSummaries;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Booking admit(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(itemId, BLOCKING_STATUSES,
+                        booking.getEnd(), booking.getStart())) {
+                    throw overlap(itemId);
+                }
+                Booking admitted = bookingRepository.saveAndFlush(booking);
+                itemBookingSummaries.admitted(admitted, LocalDateTime.now());
+                return admitted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlap(e)) {
+                throw overlap(itemId);
+            }
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves an existing booking to {@code status}. Approving a rejected booking makes its period blocking again, so it
+     * is admitted like a new booking: under the item lock and against the same overlap check.
+     */
+    public Booking changeStatus(Booking booking, BookingStatus status) {
+        boolean blocksAgain = BLOCKING_STATUSES.contains(status) && !BLOCKING_STATUSES.contains(booking.getStatus());
+        booking.setStatus(status);
+        if (blocksAgain) {
+            admit(booking);
+            return booking;
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            // Flushed first: the booking summary is recomputed in SQL from the bookings table
+            bookingRepository.saveAndFlush(booking);
+            if (status == BookingStatus.REJECTED) {
+                itemBookingSummaries.rejected(booking.getItem().getId(), booking.getId(), LocalDateTime.now());
+            }
+        });
+        return booking;
+    }
+
+    private ReentrantLock lockFor(Long itemId) {
+        int hash = Long.hashCode(itemId * 0x9E3779B97F4A7C15L);
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    // Only the PostgreSQL exclusion constraint means a concurrent overlapping booking; FK and NOT NULL
+    // violations (a deleted item or booker) are not conflicts and propagate unchanged
+    private static boolean isOverlap(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ConflictException overlap(Long itemId) {
+        return new ConflictException("Item with id=" + itemId + " is already booked for the requested period");
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.booking-archive")
+public class BookingArchiveProperties {
+    // How long after its end a booking stays in the hot table
+    private Duration retention = Duration.ofDays(180);
+    private int chunkSize = 1000;
+    // PostgreSQL only: bookings_archive is range partitioned and needs a partition per year
+    private boolean yearlyPartitions = false;
+}
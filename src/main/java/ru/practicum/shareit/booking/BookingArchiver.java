@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves finished bookings from {@code bookings} to {@code bookings_archive}, so that the hot table only holds what
+ * the CURRENT, FUTURE and WAITING listings, admission and availability need. WAITING bookings and every item's last
+ * booking stay where they are. Each chunk is moved in a transaction of its own.
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+    private static final String ARCHIVABLE = "SELECT b.id, b.end_date FROM bookings b "
+            + "WHERE b.end_date < :cutoff AND b.status <> 'WAITING' "
+            + "AND NOT EXISTS (SELECT 1 FROM items i WHERE i.last_booking_id = b.id) ";
+    private static final String AFTER = "AND (b.end_date > :afterEnd OR b.end_date = :afterEnd AND b.id > :afterId) ";
+    private static final String ORDER = "ORDER BY b.end_date, b.id LIMIT :limit";
+    private static final RowMapper<Archivable> ARCHIVABLE_MAPPER = (rs, rowNum) ->
+            new Archivable(rs.getLong("id"), rs.getTimestamp("end_date").toLocalDateTime());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingArchiveProperties properties;
+
+    public BookingArchiver(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           BookingArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${shareit.booking-archive.cron}")
+    public void archive() {
+        archive(LocalDateTime.now().minus(properties.getRetention()));
+    }
+
+    /**
+     * Archives the bookings that ended before {@code cutoff}, walking them in end order.
+     */
+    public int archive(LocalDateTime cutoff) {
+        int archived = 0;
+        Archivable after = null;
+        List<Archivable> chunk;
+        do {
+            chunk = findArchivable(cutoff, after);
+            if (!chunk.isEmpty()) {
+                List<Long> ids = chunk.stream().map(Archivable::id).toList();
+                transactionTemplate.executeWithoutResult(status -> move(ids));
+                archived += ids.size();
+                after = chunk.getLast();
+            }
+        } while (chunk.size() == properties.getChunkSize());
+        log.info("Archived {} bookings that ended before {}", archived, cutoff);
+        return archived;
+    }
+
+    private List<Archivable> findArchivable(LocalDateTime cutoff, Archivable after) {
+        MapSqlParameterSource params = new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", properties.getChunkSize());
+        if (after == null) {
+            return jdbcTemplate.query(ARCHIVABLE + ORDER, params, ARCHIVABLE_MAPPER);
+        }
+        params.addValue("afterEnd", Timestamp.valueOf(after.end())).addValue("afterId", after.id());
+        return jdbcTemplate.query(ARCHIVABLE + AFTER + ORDER, params, ARCHIVABLE_MAPPER);
+    }
+
+    private void move(List<Long> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        if (properties.isYearlyPartitions()) {
+            createPartitions(params);
+        }
+        jdbcTemplate.update("INSERT INTO bookings_archive (id, start_date, end_date, item_id, booker_id, status) "
+                + "SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings WHERE id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM bookings WHERE id IN (:ids)", params);
+    }
+
+    // Before the rows arrive: a partition cannot be attached once the default one holds rows of its range. Created
+    // in the chunk's transaction, so a rolled back chunk takes its partitions with it
+    private void createPartitions(MapSqlParameterSource params) {
+        List<Integer> years = jdbcTemplate.queryForList("SELECT DISTINCT CAST(EXTRACT(YEAR FROM start_date) AS INTEGER) "
+                + "FROM bookings WHERE id IN (:ids) AND start_date IS NOT NULL", params, Integer.class);
+        for (Integer year : years) {
+            jdbcTemplate.getJdbcTemplate().execute(("CREATE TABLE IF NOT EXISTS bookings_archive_%d "
+                    + "PARTITION OF bookings_archive FOR VALUES FROM ('%d-01-01') TO ('%d-01-01')")
+                    .formatted(year, year, year + 1));
+        }
+    }
+
+    private record Archivable(long id, LocalDateTime end) {
+    }
+}
@@ -1,8 +1,8 @@
 package ru.practicum.shareit.booking;
 
-import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,8 +13,11 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.stream.NdjsonWriter;
 
 import java.util.List;
 
@@ -27,10 +30,14 @@ import static org.springframework.http.HttpStatus.OK;
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
     private final BookingService bookingService;
+    private final NdjsonWriter ndjsonWriter;
 
     @PostMapping
-    public ResponseEntity<BookingResponseDto> addBooking(@RequestBody @Valid BookingDto bookingDto, @RequestHeader("X-Sharer-User-Id") Long bookerId) {
+    public ResponseEntity<BookingResponseDto> addBooking(@RequestBody BookingDto bookingDto, @RequestHeader("X-Sharer-User-Id") Long bookerId) {
         log.info("Получен запрос POST /bookings");
         return ResponseEntity.status(CREATED).body(bookingService.addBooking(bookingDto, bookerId));
     }
@@ -48,14 +55,48 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<List<BookingResponseDto>> getAllUsersBookings(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam(value = "state", defaultValue = "ALL", required = false) BookingState state) {
+    public ResponseEntity<List<BookingResponseDto>> getAllUsersBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                        @RequestParam(value = "state", defaultValue = "ALL", required = false) BookingState state,
+                                                                        @RequestParam(value = "pageToken", required = false) String pageToken,
+                                                                        @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
         log.info("Получен запрос GET /bookings?state={state}");
-        return ResponseEntity.ok(bookingService.getAllUsersBookings(userId, state));
+        return toResponse(bookingService.getAllUsersBookings(userId, state, pageToken, size));
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<List<BookingResponseDto>> getAllItemOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId, @RequestParam(value = "state", defaultValue = "ALL", required = false) BookingState state) {
+    public ResponseEntity<List<BookingResponseDto>> getAllItemOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                            @RequestParam(value = "state", defaultValue = "ALL", required = false) BookingState state,
+                                                                            @RequestParam(value = "pageToken", required = false) String pageToken,
+                                                                            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
         log.info("Получен запрос GET /bookings/owner?state={state}");
-        return ResponseEntity.ok(bookingService.getAllItemOwnerBookings(ownerId, state));
+        return toResponse(bookingService.getAllItemOwnerBookings(ownerId, state, pageToken, size));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsersBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                        @RequestParam(value = "state", defaultValue = "ALL", required = false) BookingState state) {
+        log.info("Получен запрос GET /bookings?state={state} (ndjson)");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonWriter.<BookingResponseDto>write(
+                        consumer -> bookingService.streamAllUsersBookings(userId, state, consumer)));
+    }
+
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllItemOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                            @RequestParam(value = "state", defaultValue = "ALL", required = false) BookingState state) {
+        log.info("Получен запрос GET /bookings/owner?state={state} (ndjson)");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonWriter.<BookingResponseDto>write(
+                        consumer -> bookingService.streamAllItemOwnerBookings(ownerId, state, consumer)));
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> toResponse(BookingPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+        }
+        return response.body(page.getBookings());
     }
 }
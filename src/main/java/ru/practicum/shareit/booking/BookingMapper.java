@@ -5,8 +5,10 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +37,25 @@ public class BookingMapper {
         return bookingDto;
     }
 
+    public static BookingResponseDto toBookingResponseDto(BookingView booking) {
+        UserDto booker = new UserDto();
+        booker.setId(booking.bookerId());
+        booker.setName(booking.bookerName());
+        booker.setEmail(booking.bookerEmail());
+        return new BookingResponseDto(booking.id(), booking.start(), booking.end(),
+                new ItemDto(booking.itemId(), booking.itemName(), booking.itemDescription(), booking.itemAvailable(),
+                        booking.itemOwnerId(), booking.itemRequestId()),
+                booker, booking.status());
+    }
+
+    public static List<BookingResponseDto> viewsToResponseBookingDto(List<BookingView> bookings) {
+        List<BookingResponseDto> result = new ArrayList<>(bookings.size());
+        for (BookingView booking : bookings) {
+            result.add(toBookingResponseDto(booking));
+        }
+        return result;
+    }
+
     public static List<BookingResponseDto> listToResponseBookingDto(Iterable<Booking> bookings) {
         List<BookingResponseDto> result = new ArrayList<>();
         for (Booking booking : bookings) {
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.paging.PageTokens;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset cursor over bookings ordered by {@code start DESC, id DESC}: the last booking of the previous page.
+ */
+public record BookingPageToken(LocalDateTime start, Long id) {
+    public static BookingPageToken of(BookingView booking) {
+        return new BookingPageToken(booking.start(), booking.id());
+    }
+
+    public static BookingPageToken decode(String token) {
+        return PageTokens.decode(token, 2,
+                keys -> new BookingPageToken(LocalDateTime.parse(keys[0]), Long.valueOf(keys[1])));
+    }
+
+    public String encode() {
+        return PageTokens.encode(start, id);
+    }
+}
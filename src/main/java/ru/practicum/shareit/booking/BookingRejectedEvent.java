@@ -0,0 +1,4 @@
+package ru.practicum.shareit.booking;
+
+public record BookingRejectedEvent(Long itemId, Long bookingId) {
+}
@@ -1,9 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingResponseDto addBooking(BookingDto bookingDto, Long bookerId);
@@ -12,8 +13,12 @@ public interface BookingService {
 
     BookingResponseDto getBookingById(Long requesterId, Long bookingId);
 
-    List<BookingResponseDto> getAllUsersBookings(Long usersId, BookingState state);
+    BookingPage getAllUsersBookings(Long usersId, BookingState state, String pageToken, int size);
 
-    List<BookingResponseDto> getAllItemOwnerBookings(Long ownerId, BookingState state);
+    BookingPage getAllItemOwnerBookings(Long ownerId, BookingState state, String pageToken, int size);
+
+    void streamAllUsersBookings(Long usersId, BookingState state, Consumer<BookingResponseDto> consumer);
+
+    void streamAllItemOwnerBookings(Long ownerId, BookingState state, Consumer<BookingResponseDto> consumer);
 
 }
@@ -1,31 +1,53 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.availability.AvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.IncorrectUserException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemChangedEvent;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.KnownUsers;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.validation.RequestRules;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BookingServiceImpl  implements BookingService {
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int STREAM_CHUNK = 500;
 
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final UserRepository userRepository;
+    private final KnownUsers knownUsers;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingAdmission bookingAdmission;
+    private final AvailabilityIndex availabilityIndex;
 
+    // BookingAdmission runs its own transaction under the item lock; an outer one would hold a second connection
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingResponseDto addBooking(BookingDto bookingDto, Long bookerId) {
+        RequestRules.require(RequestRules.newBooking(bookingDto, LocalDateTime.now()));
         User booker = userRepository.findById(bookerId)
                 .orElseThrow(() -> new NotFoundException("User wich id=" + bookerId + " not found"));
         Item item = itemRepository.findById(bookingDto.getItemId())
@@ -36,32 +58,53 @@ public class BookingServiceImpl  implements BookingService {
         if (!item.isAvailable()) {
             throw new ValidationException("The item has already been booked");
         }
-        isBookingTimeCorrect(bookingDto);
         Booking booking = BookingMapper.toBookingEntity(bookingDto, item, booker);
-        return BookingMapper.toBookingResponseDto(bookingRepository.save(booking));
+        Booking admitted = bookingAdmission.admit(booking);
+        availabilityIndex.add(admitted);
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
+        return BookingMapper.toBookingResponseDto(admitted);
     }
 
+    // Re-approving a rejected booking is admitted under the item lock in a transaction of its own, as in addBooking
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingResponseDto patchBooking(Long ownerId, Long bookingId, boolean isApproved) {
-        Booking existedBooking = bookingRepository.findById(bookingId)
+        Optional<Booking> hotBooking = bookingRepository.findDetailedById(bookingId);
+        Booking existedBooking = hotBooking
+                .or(() -> archivedBookingRepository.findDetailedById(bookingId).map(ArchivedBooking::toBooking))
                 .orElseThrow(() -> new NotFoundException("Booking with id=" + bookingId + " not found"));
 
         if (!Objects.equals(existedBooking.getItem().getOwner().getId(), ownerId)) {
             throw new IncorrectUserException(ownerId + " cannot change the booking status");
         }
 
+        // Archived bookings are finished history; saving one would insert a copy into the hot table
+        if (hotBooking.isEmpty()) {
+            throw new ConflictException("Booking with id=" + bookingId + " is archived and cannot be changed");
+        }
+
         if (existedBooking.getStatus().equals(BookingStatus.APPROVED)) {
             throw new ValidationException("Booking approved");
         }
 
-        existedBooking.setStatus(isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-
-        return BookingMapper.toBookingResponseDto(bookingRepository.save(existedBooking));
+        BookingStatus previous = existedBooking.getStatus();
+        Booking changed = bookingAdmission.changeStatus(existedBooking,
+                isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        Long itemId = changed.getItem().getId();
+        if (changed.getStatus() == BookingStatus.REJECTED) {
+            eventPublisher.publishEvent(new BookingRejectedEvent(itemId, bookingId));
+        } else if (previous == BookingStatus.REJECTED) {
+            // Re-admitted and committed: the rejection took its period out of the timeline
+            availabilityIndex.add(changed);
+        }
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
+        return BookingMapper.toBookingResponseDto(changed);
     }
 
     @Override
     public BookingResponseDto getBookingById(Long requesterId, Long bookingId) {
-        Booking existedBooking = bookingRepository.findById(bookingId)
+        Booking existedBooking = bookingRepository.findDetailedById(bookingId)
+                .or(() -> archivedBookingRepository.findDetailedById(bookingId).map(ArchivedBooking::toBooking))
                 .orElseThrow(() -> new NotFoundException("Booking with id=" + bookingId + " not foundо"));
 
         Item item = existedBooking.getItem();
@@ -75,77 +118,65 @@ public class BookingServiceImpl  implements BookingService {
     }
 
     @Override
-    public List<BookingResponseDto> getAllUsersBookings(Long usersId, BookingState state) {
-        userRepository.findById(usersId)
-                .orElseThrow(() -> new NotFoundException("User with  id=" + usersId + " not found"));
-
-        switch (state) {
-            case ALL:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByBookerIdOrderByStartDesc(usersId));
-            case CURRENT:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByIdAsc(
-                                usersId, LocalDateTime.now(), LocalDateTime.now()));
-            case PAST:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(usersId, LocalDateTime.now()));
-            case FUTURE:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(usersId, LocalDateTime.now()));
-            case WAITING:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(usersId, BookingStatus.WAITING));
-            case REJECTED:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(usersId, BookingStatus.REJECTED));
-            default:
-                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
-        }
+    public BookingPage getAllUsersBookings(Long usersId, BookingState state, String pageToken, int size) {
+        knownUsers.requireExists(usersId);
+
+        return findPage(BookingRole.BOOKER, usersId, state, BookingPageToken.decode(pageToken), checkPageSize(size));
     }
 
     @Override
-    public List<BookingResponseDto> getAllItemOwnerBookings(Long ownerId, BookingState state) {
-        userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("User with  id=" + ownerId + " not found"));
-
-        switch (state) {
-            case ALL:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId));
-            case CURRENT:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                                ownerId, LocalDateTime.now(), LocalDateTime.now()));
-            case PAST:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, LocalDateTime.now()));
-            case FUTURE:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, LocalDateTime.now()));
-            case WAITING:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING));
-            case REJECTED:
-                return BookingMapper.listToResponseBookingDto(
-                        bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED));
-            default:
-                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
-        }
+    public BookingPage getAllItemOwnerBookings(Long ownerId, BookingState state, String pageToken, int size) {
+        knownUsers.requireExists(ownerId);
+
+        return findPage(BookingRole.OWNER, ownerId, state, BookingPageToken.decode(pageToken), checkPageSize(size));
     }
 
-    private void isBookingTimeCorrect(BookingDto bookingDto) {
-        if (bookingDto.getEnd().isBefore(LocalDateTime.now())) {
-            throw new ValidationException("The end time of the booking is incorrect");
-        }
-        if (bookingDto.getStart().isBefore(LocalDateTime.now())) {
-            throw new ValidationException("The booking start time is incorrect");
-        }
-        if (bookingDto.getStart().isEqual(bookingDto.getEnd())) {
-            throw new ValidationException("The start and end times cannot be the same.");
+    @Override
+    public void streamAllUsersBookings(Long usersId, BookingState state, Consumer<BookingResponseDto> consumer) {
+        knownUsers.requireExists(usersId);
+
+        streamPages(BookingRole.BOOKER, usersId, state, consumer);
+    }
+
+    @Override
+    public void streamAllItemOwnerBookings(Long ownerId, BookingState state, Consumer<BookingResponseDto> consumer) {
+        knownUsers.requireExists(ownerId);
+
+        streamPages(BookingRole.OWNER, ownerId, state, consumer);
+    }
+
+    private BookingPage findPage(BookingRole role, Long userId, BookingState state, BookingPageToken after,
+                                 int size) {
+        // One extra row tells whether there is a next page without a count query
+        List<BookingView> bookings = bookingRepository.findPage(role, userId, state, LocalDateTime.now(), after,
+                size + 1);
+        if (bookings.size() <= size) {
+            return new BookingPage(BookingMapper.viewsToResponseBookingDto(bookings), null);
         }
-        if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
-            throw new ValidationException("The start time must be earlier than the end time.");
+        List<BookingView> page = bookings.subList(0, size);
+        return new BookingPage(BookingMapper.viewsToResponseBookingDto(page),
+                BookingPageToken.of(page.get(size - 1)).encode());
+    }
+
+    private void streamPages(BookingRole role, Long userId, BookingState state,
+                             Consumer<BookingResponseDto> consumer) {
+        // All chunks are filtered against the same instant, so a booking cannot move between states mid-stream
+        LocalDateTime now = LocalDateTime.now();
+        BookingPageToken after = null;
+        List<BookingView> chunk;
+        do {
+            chunk = bookingRepository.findPage(role, userId, state, now, after, STREAM_CHUNK);
+            chunk.forEach(booking -> consumer.accept(BookingMapper.toBookingResponseDto(booking)));
+            if (!chunk.isEmpty()) {
+                after = BookingPageToken.of(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == STREAM_CHUNK);
+    }
+
+    private int checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
+        return size;
     }
-}
\ No newline at end of file
+}
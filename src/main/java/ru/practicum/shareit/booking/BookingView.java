@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a booking with exactly the item and booker columns needed by {@code BookingResponseDto}.
+ */
+public record BookingView(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                          Long itemId, String itemName, String itemDescription, boolean itemAvailable,
+                          Long itemOwnerId, Long itemRequestId,
+                          Long bookerId, String bookerName, String bookerEmail) {
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingViewRepository {
+    /**
+     * Returns up to {@code limit} bookings of the user in the given role, newest start first, that match the state
+     * at {@code now} and come after the {@code after} cursor (from the beginning when it is {@code null}).
+     */
+    List<BookingView> findPage(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                               BookingPageToken after, int limit);
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class BookingViewRepositoryImpl implements BookingViewRepository {
+    // Archived bookings are finished and never WAITING, so the other states are answered by the hot table alone
+    private static final Set<BookingState> ARCHIVED_STATES = EnumSet.of(BookingState.ALL, BookingState.PAST,
+            BookingState.REJECTED);
+    private static final Comparator<BookingView> NEWEST_FIRST = Comparator.comparing(BookingView::start)
+            .thenComparing(BookingView::id)
+            .reversed();
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findPage(BookingRole role, Long userId, BookingState state, LocalDateTime now,
+                                      BookingPageToken after, int limit) {
+        List<BookingView> hot = findPage(Booking.class, role, userId, state, now, after, limit);
+        if (!ARCHIVED_STATES.contains(state)) {
+            return hot;
+        }
+        // Both sides are ordered and limited by the same keyset, so the page is the head of their merge
+        List<BookingView> archived = findPage(ArchivedBooking.class, role, userId, state, now, after, limit);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<BookingView> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        return merged.size() <= limit ? merged : merged.subList(0, limit);
+    }
+
+    private List<BookingView> findPage(Class<?> entity, BookingRole role, Long userId, BookingState state,
+                                       LocalDateTime now, BookingPageToken after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<?> booking = query.from(entity);
+        Join<?, Item> item = booking.join("item");
+        Join<?, User> booker = booking.join("booker");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate ofUser = switch (role) {
+            case BOOKER -> cb.equal(booker.get("id"), userId);
+            case OWNER -> cb.equal(item.get("owner").get("id"), userId);
+        };
+        where.add(ofUser);
+        switch (state) {
+            case CURRENT -> {
+                where.add(cb.lessThan(start, now));
+                where.add(cb.greaterThan(end, now));
+            }
+            case PAST -> where.add(cb.lessThan(end, now));
+            case FUTURE -> where.add(cb.greaterThan(start, now));
+            case WAITING -> where.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+            case REJECTED -> where.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+            case ALL -> {
+            }
+        }
+        if (after != null) {
+            where.add(cb.or(cb.lessThan(start, after.start()),
+                    cb.and(cb.equal(start, after.start()), cb.lessThan(id, after.id()))));
+        }
+
+        query.select(cb.construct(BookingView.class, id, start, end, booking.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("owner").get("id"), item.get("request").get("id"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String ITEM_DETAILS = "itemDetails";
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        properties.getSpecs().forEach((name, spec) -> cacheManager.registerCustomCache(name, Caffeine.from(spec).build()));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.cache")
+public class CacheSpecProperties {
+    private Map<String, String> specs = new HashMap<>();
+}
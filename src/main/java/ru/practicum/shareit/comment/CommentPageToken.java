@@ -0,0 +1,25 @@
+package ru.practicum.shareit.comment;
+
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.paging.PageTokens;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset cursor over an item's comments ordered by {@code created DESC, id DESC}: the last comment of the previous
+ * page.
+ */
+public record CommentPageToken(LocalDateTime created, Long id) {
+    public static CommentPageToken of(CommentDto comment) {
+        return new CommentPageToken(comment.getCreated(), comment.getId());
+    }
+
+    public static CommentPageToken decode(String token) {
+        return PageTokens.decode(token, 2,
+                keys -> new CommentPageToken(LocalDateTime.parse(keys[0]), Long.valueOf(keys[1])));
+    }
+
+    public String encode() {
+        return PageTokens.encode(created, id);
+    }
+}
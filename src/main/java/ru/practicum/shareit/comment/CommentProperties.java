@@ -0,0 +1,14 @@
+package ru.practicum.shareit.comment;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.comments")
+public class CommentProperties {
+    // Latest comments embedded in item views; the rest are paged through GET /items/{id}/comments
+    private int embedded = 10;
+    private int maxPageSize = 100;
+}
@@ -1,10 +1,32 @@
 package ru.practicum.shareit.comment;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.comment.dto.CommentDto;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItemIdOrderByCreatedAsc(Long itemId);
-}
\ No newline at end of file
+    @Query("SELECT new ru.practicum.shareit.comment.dto.CommentDto(c.id, c.text, a.name, c.created) "
+            + "FROM Comment c JOIN c.author a WHERE c.item.id = :itemId ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findLatestByItemId(@Param("itemId") Long itemId, Limit limit);
+
+    @Query("SELECT new ru.practicum.shareit.comment.dto.CommentDto(c.id, c.text, a.name, c.created) "
+            + "FROM Comment c JOIN c.author a WHERE c.item.id = :itemId "
+            + "AND (c.created < :created OR c.created = :created AND c.id < :id) ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findLatestByItemIdBefore(@Param("itemId") Long itemId, @Param("created") LocalDateTime created,
+                                              @Param("id") Long id, Limit limit);
+
+    // The latest perItem comments of each item, oldest first within an item
+    @Query("SELECT new ru.practicum.shareit.comment.ItemComment(x.itemId, x.id, x.text, x.authorName, x.created) "
+            + "FROM (SELECT c.item.id AS itemId, c.id AS id, c.text AS text, a.name AS authorName, "
+            + "c.created AS created, row_number() OVER (PARTITION BY c.item.id ORDER BY c.created DESC, c.id DESC) AS rn "
+            + "FROM Comment c JOIN c.author a WHERE c.item.id IN :itemIds) x "
+            + "WHERE x.rn <= :perItem ORDER BY x.itemId, x.created, x.id")
+    List<ItemComment> findLatestByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("perItem") int perItem);
+}
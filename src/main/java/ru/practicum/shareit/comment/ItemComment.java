@@ -0,0 +1,15 @@
+package ru.practicum.shareit.comment;
+
+import ru.practicum.shareit.comment.dto.CommentDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment together with its item, as read for a page of items at once.
+ */
+public record ItemComment(Long itemId, Long id, String text, String authorName, LocalDateTime created) {
+
+    public CommentDto toCommentDto() {
+        return new CommentDto(id, text, authorName, created);
+    }
+}
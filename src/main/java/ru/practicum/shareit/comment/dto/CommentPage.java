@@ -0,0 +1,13 @@
+package ru.practicum.shareit.comment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CommentPage {
+    private List<CommentDto> comments;
+    private String nextPageToken;
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.imports;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.availability.AvailabilityIndex;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemBookingSummaryJob;
+import ru.practicum.shareit.item.ItemOwner;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.validation.RequestRules;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bookings: {@code start}, {@code end}, {@code itemId}, {@code bookerId} and an optional {@code status}
+ * ({@code WAITING} when absent, as for a new booking). Historical bookings may lie in the past, so only the period
+ * order is checked ({@link RequestRules#bookingPeriod}), not that they lie in the future.
+ */
+@Component
+class BookingImportTarget implements ImportTarget {
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final ItemBookingSummaryJob itemBookingSummaryJob;
+
+    BookingImportTarget(ItemRepository itemRepository, UserRepository userRepository, CacheManager cacheManager,
+                        ItemBookingSummaryJob itemBookingSummaryJob) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.itemBookingSummaryJob = itemBookingSummaryJob;
+    }
+
+    @Override
+    public ImportKind kind() {
+        return ImportKind.BOOKINGS;
+    }
+
+    @Override
+    public String insertSql() {
+        return "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    public PreparedChunk prepare(List<ImportRow> rows) {
+        List<ImportReject> rejects = new ArrayList<>();
+        List<ImportRow> parsed = new ArrayList<>(rows.size());
+        List<BookingDto> bookings = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            try {
+                bookings.add(toBookingDto(row));
+                parsed.add(row);
+            } catch (ValidationException e) {
+                rejects.add(new ImportReject(row.number(), e.getMessage()));
+            }
+        }
+        Map<Long, Long> owners = itemRepository.findOwnersByIdIn(bookings.stream()
+                        .map(BookingDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList()).stream()
+                .collect(Collectors.toMap(ItemOwner::itemId, ItemOwner::ownerId));
+        Set<Long> bookers = new HashSet<>(userRepository.findIdsIn(bookings.stream()
+                .map(BookingDto::getBookerId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList()));
+
+        List<ImportedRow> imported = new ArrayList<>(bookings.size());
+        for (int i = 0; i < bookings.size(); i++) {
+            BookingDto booking = bookings.get(i);
+            long number = parsed.get(i).number();
+            try {
+                validate(booking, owners, bookers);
+            } catch (ValidationException e) {
+                rejects.add(new ImportReject(number, e.getMessage()));
+                continue;
+            }
+            imported.add(new ImportedRow(number, new Object[]{booking.getStart(), booking.getEnd(),
+                    booking.getItemId(), booking.getBookerId(), booking.getStatus().name()}));
+        }
+        return new PreparedChunk(imported, rejects);
+    }
+
+    @Override
+    public void afterImport() {
+        // Imported rows bypass admission, so the booking summaries are rebuilt from the table
+        itemBookingSummaryJob.rebuild();
+        for (String cacheName : List.of(AvailabilityIndex.CACHE_NAME, CacheConfig.ITEM_DETAILS)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private static BookingDto toBookingDto(ImportRow row) {
+        if (row.error() != null) {
+            throw new ValidationException(row.error());
+        }
+        String status = row.text("status");
+        BookingStatus bookingStatus;
+        try {
+            bookingStatus = status == null ? BookingStatus.WAITING : BookingStatus.valueOf(status.trim());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown status: " + status);
+        }
+        return new BookingDto(null, row.dateTime("start"), row.dateTime("end"), row.longValue("itemId"),
+                row.longValue("bookerId"), bookingStatus);
+    }
+
+    private void validate(BookingDto booking, Map<Long, Long> owners, Set<Long> bookers) {
+        RequestRules.require(RequestRules.bookingPeriod(booking));
+        if (booking.getBookerId() == null) {
+            throw new ValidationException("Booker is required");
+        }
+        if (!owners.containsKey(booking.getItemId())) {
+            throw new ValidationException("Item with id=" + booking.getItemId() + " not found");
+        }
+        if (!bookers.contains(booking.getBookerId())) {
+            throw new ValidationException("User with id=" + booking.getBookerId() + " not found");
+        }
+        if (Objects.equals(owners.get(booking.getItemId()), booking.getBookerId())) {
+            throw new ValidationException("The user cannot book their item");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row: comma separated, fields optionally quoted, {@code ""} inside quotes for a quote,
+ * line breaks allowed inside quotes. Empty fields read as missing.
+ */
+class CsvRecordReader implements ImportRecordReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // An unterminated quote would otherwise read the rest of the file into one field
+    private static final int MAX_FIELD_LENGTH = 1024 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> header;
+    private int position;
+    private int limit;
+    private long number;
+
+    CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> names = readRecord();
+        this.header = names == null ? List.of() : names.stream()
+                .map(name -> name.replace("\uFEFF", "").trim())
+                .toList();
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> values = readRecord();
+        while (values != null && values.size() == 1 && values.get(0).isBlank()) {
+            values = readRecord();
+        }
+        if (values == null) {
+            return null;
+        }
+        number++;
+        if (values.size() != header.size()) {
+            return ImportRow.malformed(number, "Expected " + header.size() + " columns, got " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return new ImportRow(number, fields, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    break;
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                append(c);
+            } else if (c < 0 || c == '\n') {
+                break;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                append(c);
+            }
+            c = read();
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    private void append(int c) throws IOException {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new IOException("Record " + (number + 1) + " has a field longer than " + MAX_FIELD_LENGTH
+                    + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.imports;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.imports.dto.ImportJobStatus;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Import jobs and their committed chunks. A chunk's row is written in the same transaction as the chunk's data, so
+ * after a crash the committed chunks are exactly the ones a resumed job skips.
+ */
+@Repository
+@RequiredArgsConstructor
+class ImportCheckpoints {
+    private static final String SELECT_STATUS = "SELECT j.id, j.kind, j.file_name, j.status, j.chunk_size, "
+            + "j.started, j.finished, j.error, COUNT(c.chunk_no) AS chunks, "
+            + "COALESCE(SUM(c.imported), 0) AS imported, COALESCE(SUM(c.rejected), 0) AS rejected "
+            + "FROM import_jobs j LEFT JOIN import_chunks c ON c.job_id = j.id ";
+    private static final String GROUP_BY = " GROUP BY j.id, j.kind, j.file_name, j.status, j.chunk_size, "
+            + "j.started, j.finished, j.error";
+    private static final RowMapper<ImportJobStatus> STATUS_MAPPER = (rs, rowNum) -> new ImportJobStatus(
+            rs.getLong("id"),
+            ImportKind.valueOf(rs.getString("kind")),
+            rs.getString("file_name"),
+            ImportStatus.valueOf(rs.getString("status")),
+            rs.getInt("chunk_size"),
+            rs.getLong("chunks"),
+            rs.getLong("imported"),
+            rs.getLong("rejected"),
+            toLocalDateTime(rs.getTimestamp("started")),
+            toLocalDateTime(rs.getTimestamp("finished")),
+            rs.getString("error"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    Optional<ImportJobStatus> findLatest(ImportKind kind, String fileName, long fileSize) {
+        return jdbcTemplate.query(SELECT_STATUS + "WHERE j.id = (SELECT MAX(id) FROM import_jobs "
+                        + "WHERE kind = ? AND file_name = ? AND file_size = ?)" + GROUP_BY,
+                STATUS_MAPPER, kind.name(), fileName, fileSize).stream().findFirst();
+    }
+
+    ImportJobStatus get(long jobId) {
+        return jdbcTemplate.query(SELECT_STATUS + "WHERE j.id = ?" + GROUP_BY, STATUS_MAPPER, jobId).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Import job with id=" + jobId + " not found"));
+    }
+
+    List<ImportJobStatus> findRecent(int limit) {
+        return jdbcTemplate.query(SELECT_STATUS + "WHERE j.id IN (SELECT id FROM import_jobs ORDER BY id DESC "
+                + "LIMIT ?)" + GROUP_BY + " ORDER BY j.id DESC", STATUS_MAPPER, limit);
+    }
+
+    long create(ImportKind kind, String fileName, long fileSize, int chunkSize) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("INSERT INTO import_jobs "
+                    + "(kind, file_name, file_size, chunk_size, status, started) VALUES (?, ?, ?, ?, ?, ?)",
+                    new String[]{"id"});
+            statement.setString(1, kind.name());
+            statement.setString(2, fileName);
+            statement.setLong(3, fileSize);
+            statement.setInt(4, chunkSize);
+            statement.setString(5, ImportStatus.RUNNING.name());
+            statement.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    Set<Integer> completedChunks(long jobId) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT chunk_no FROM import_chunks WHERE job_id = ?",
+                Integer.class, jobId));
+    }
+
+    void completeChunk(long jobId, int chunkNo, int imported, List<ImportReject> rejects) {
+        jdbcTemplate.update("INSERT INTO import_chunks (job_id, chunk_no, imported, rejected) VALUES (?, ?, ?, ?)",
+                jobId, chunkNo, imported, rejects.size());
+        if (!rejects.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO import_rejects (job_id, row_no, error) VALUES (?, ?, ?)",
+                    rejects.stream()
+                            .map(reject -> new Object[]{jobId, reject.row(), reject.error()})
+                            .toList());
+        }
+    }
+
+    void markRunning(long jobId) {
+        jdbcTemplate.update("UPDATE import_jobs SET status = ?, error = NULL WHERE id = ?",
+                ImportStatus.RUNNING.name(), jobId);
+    }
+
+    void markFinished(long jobId) {
+        jdbcTemplate.update("UPDATE import_jobs SET status = ?, finished = ? WHERE id = ?",
+                ImportStatus.FINISHED.name(), Timestamp.valueOf(LocalDateTime.now()), jobId);
+    }
+
+    void markFailed(long jobId, String error) {
+        jdbcTemplate.update("UPDATE import_jobs SET status = ?, error = ? WHERE id = ?",
+                ImportStatus.FAILED.name(), error, jobId);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
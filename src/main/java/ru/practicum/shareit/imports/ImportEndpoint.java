@@ -0,0 +1,33 @@
+package ru.practicum.shareit.imports;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.imports.dto.ImportJobStatus;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "imports")
+public class ImportEndpoint {
+    private final ImportService importService;
+
+    @ReadOperation
+    public List<ImportJobStatus> jobs() {
+        return importService.recentJobs();
+    }
+
+    @ReadOperation
+    public ImportJobStatus job(@Selector long id) {
+        return importService.status(id);
+    }
+
+    @WriteOperation
+    public ImportJobStatus start(ImportKind kind, String file) {
+        return importService.submit(kind, file);
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.imports;
+
+public enum ImportKind {
+    ITEMS,
+    BOOKINGS
+}
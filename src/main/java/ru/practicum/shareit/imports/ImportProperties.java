@@ -0,0 +1,21 @@
+package ru.practicum.shareit.imports;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.import")
+public class ImportProperties {
+    /**
+     * Directory the import endpoint reads files from; imports through the endpoint are disabled when unset.
+     */
+    private Path directory;
+    private int chunkSize = 2000;
+    private int parallelism = 4;
+    private Duration progressInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads an import file one record at a time, so memory does not depend on the file size.
+ */
+public interface ImportRecordReader extends Closeable {
+
+    /**
+     * The next record, or {@code null} at the end of the file. Records are numbered from 1.
+     */
+    ImportRow next() throws IOException;
+
+    static ImportRecordReader open(Path file, ObjectMapper objectMapper) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        boolean csv = name.endsWith(".csv");
+        if (!csv && !name.endsWith(".ndjson") && !name.endsWith(".jsonl")) {
+            throw new ValidationException("Unsupported import file " + name + ": expected .csv, .ndjson or .jsonl");
+        }
+        Reader reader = Channels.newReader(FileChannel.open(file, StandardOpenOption.READ), StandardCharsets.UTF_8);
+        try {
+            return csv ? new CsvRecordReader(reader) : new NdjsonRecordReader(reader, objectMapper);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.imports;
+
+/**
+ * A row left out of the import; {@code row} is the 1-based record number in the file, not counting a CSV header.
+ */
+public record ImportReject(long row, String error) {
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.imports;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * One record of an import file: its fields by column (CSV header) or key (NDJSON), or the reason it could not be
+ * parsed. The typed getters return {@code null} for a missing or empty field and throw {@link ValidationException}
+ * for a malformed one.
+ */
+public record ImportRow(long number, Map<String, String> fields, String error) {
+
+    public static ImportRow malformed(long number, String error) {
+        return new ImportRow(number, Map.of(), error);
+    }
+
+    public String text(String name) {
+        return fields.get(name);
+    }
+
+    public Long longValue(String name) {
+        String value = fields.get(name);
+        try {
+            return value == null ? null : Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException(name + " must be a number, got '" + value + "'");
+        }
+    }
+
+    public Boolean bool(String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new ValidationException(name + " must be true or false, got '" + value + "'");
+        };
+    }
+
+    public LocalDateTime dateTime(String name) {
+        String value = fields.get(name);
+        try {
+            return value == null ? null : LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(name + " must be an ISO date-time, got '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.imports.dto.ImportJobStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads items or bookings from a CSV or NDJSON file. The file is read sequentially in chunks of
+ * {@code shareit.import.chunk-size} records; up to {@code shareit.import.parallelism} chunks are validated and
+ * written at once, each in its own transaction together with its checkpoint, and at most twice as many are held in
+ * memory. A job that failed or whose process died is resumed by importing the same file again: committed chunks are
+ * skipped, so no row is written twice.
+ */
+@Slf4j
+@Service
+public class ImportService {
+    private static final int RECENT_JOBS = 50;
+
+    private final ImportProperties properties;
+    private final ImportCheckpoints checkpoints;
+    private final Map<ImportKind, ImportTarget> targets = new EnumMap<>(ImportKind.class);
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ObjectMapper objectMapper;
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("import-coordinator").factory());
+
+    ImportService(ImportProperties properties, ImportCheckpoints checkpoints, List<ImportTarget> targets,
+                  JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                  ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.checkpoints = checkpoints;
+        targets.forEach(target -> this.targets.put(target.kind(), target));
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts importing {@code fileName} from {@code shareit.import.directory} in the background; jobs run one at a
+     * time.
+     */
+    public ImportJobStatus submit(ImportKind kind, String fileName) {
+        Path file = resolve(fileName);
+        ImportJobStatus job = begin(kind, file);
+        if (job.status() == ImportStatus.RUNNING) {
+            coordinator.execute(() -> {
+                try {
+                    run(job, file);
+                } catch (RuntimeException e) {
+                    log.error("Import job {} of {} failed", job.id(), file, e);
+                }
+            });
+        }
+        return job;
+    }
+
+    /**
+     * Imports {@code file} in the calling thread, resuming an unfinished job of the same file, and returns the final
+     * state of the job.
+     */
+    public ImportJobStatus importFile(ImportKind kind, Path file) {
+        ImportJobStatus job = begin(kind, file);
+        return job.status() == ImportStatus.RUNNING ? run(job, file) : job;
+    }
+
+    public ImportJobStatus status(long jobId) {
+        return checkpoints.get(jobId);
+    }
+
+    public List<ImportJobStatus> recentJobs() {
+        return checkpoints.findRecent(RECENT_JOBS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private Path resolve(String fileName) {
+        Path directory = properties.getDirectory();
+        if (directory == null) {
+            throw new ValidationException("Imports are disabled: shareit.import.directory is not set");
+        }
+        Path root = directory.toAbsolutePath().normalize();
+        Path file = root.resolve(fileName).normalize();
+        if (!file.startsWith(root)) {
+            throw new ValidationException("Import file must be inside " + root);
+        }
+        return file;
+    }
+
+    // Synchronized so that two requests for the same file cannot both start a job for it
+    private synchronized ImportJobStatus begin(ImportKind kind, Path file) {
+        if (!Files.isRegularFile(file)) {
+            throw new NotFoundException("Import file " + file + " not found");
+        }
+        String fileName = file.toAbsolutePath().normalize().toString();
+        long fileSize;
+        try {
+            fileSize = Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ImportJobStatus previous = checkpoints.findLatest(kind, fileName, fileSize).orElse(null);
+        if (previous == null) {
+            long jobId = checkpoints.create(kind, fileName, fileSize, properties.getChunkSize());
+            activeJobs.add(jobId);
+            return checkpoints.get(jobId);
+        }
+        if (activeJobs.contains(previous.id())) {
+            throw new ConflictException("Import of " + fileName + " is already running as job " + previous.id());
+        }
+        if (previous.status() == ImportStatus.FINISHED) {
+            return previous;
+        }
+        log.info("Resuming import job {} of {}: {} chunks already committed", previous.id(), fileName,
+                previous.chunksDone());
+        checkpoints.markRunning(previous.id());
+        activeJobs.add(previous.id());
+        return checkpoints.get(previous.id());
+    }
+
+    private ImportJobStatus run(ImportJobStatus job, Path file) {
+        ImportTarget target = targets.get(job.kind());
+        Progress progress = new Progress(job);
+        try {
+            readAndWrite(job, file, target, progress);
+            target.afterImport();
+            checkpoints.markFinished(job.id());
+        } catch (IOException e) {
+            checkpoints.markFailed(job.id(), String.valueOf(e.getMessage()));
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            checkpoints.markFailed(job.id(), String.valueOf(e.getMessage()));
+            throw e;
+        } finally {
+            activeJobs.remove(job.id());
+        }
+        ImportJobStatus finished = checkpoints.get(job.id());
+        log.info("Import job {} of {} finished: {} imported, {} rejected, {} rows/s in this run", job.id(), file,
+                finished.imported(), finished.rejected(), progress.rowsPerSecond());
+        return finished;
+    }
+
+    private void readAndWrite(ImportJobStatus job, Path file, ImportTarget target, Progress progress)
+            throws IOException {
+        Set<Integer> committed = checkpoints.completedChunks(job.id());
+        int parallelism = properties.getParallelism();
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("import-" + job.id() + "-", 0).factory());
+        try (ImportRecordReader reader = ImportRecordReader.open(file, objectMapper)) {
+            int chunkNo = 0;
+            List<ImportRow> chunk = new ArrayList<>(job.chunkSize());
+            int read = 0;
+            for (ImportRow row = reader.next(); row != null && failure.get() == null; row = reader.next()) {
+                // Records of committed chunks are still parsed, to find where the next chunk starts
+                if (!committed.contains(chunkNo)) {
+                    chunk.add(row);
+                }
+                if (++read == job.chunkSize()) {
+                    submitChunk(job, target, chunkNo, chunk, workers, inFlight, failure, progress);
+                    chunkNo++;
+                    chunk = new ArrayList<>(job.chunkSize());
+                    read = 0;
+                }
+            }
+            if (read > 0 && failure.get() == null) {
+                submitChunk(job, target, chunkNo, chunk, workers, inFlight, failure, progress);
+            }
+        } finally {
+            workers.shutdown();
+            awaitTermination(workers);
+        }
+        if (failure.get() instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Import chunk failed", failure.get());
+        }
+    }
+
+    private void submitChunk(ImportJobStatus job, ImportTarget target, int chunkNo, List<ImportRow> rows,
+                             ExecutorService workers, Semaphore inFlight, AtomicReference<Throwable> failure,
+                             Progress progress) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        inFlight.acquireUninterruptibly();
+        workers.execute(() -> {
+            try {
+                if (failure.get() == null) {
+                    writeChunk(job.id(), target, chunkNo, rows, progress);
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+        progress.logIfDue(properties.getProgressInterval().toNanos());
+    }
+
+    private void writeChunk(long jobId, ImportTarget target, int chunkNo, List<ImportRow> rows, Progress progress) {
+        chunkTransaction.executeWithoutResult(status -> {
+            PreparedChunk prepared = target.prepare(rows);
+            List<ImportReject> rejects = new ArrayList<>(prepared.rejects());
+            int imported = insert(target.insertSql(), prepared.rows(), rejects);
+            rejects.sort(Comparator.comparingLong(ImportReject::row));
+            checkpoints.completeChunk(jobId, chunkNo, imported, rejects);
+            progress.add(imported, rejects.size());
+        });
+    }
+
+    // JpaTransactionManager cannot create savepoints, so they are set on the transaction's connection directly
+    private int insert(String sql, List<ImportedRow> rows, List<ImportReject> rejects) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    for (ImportedRow row : rows) {
+                        bind(statement, row);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    connection.releaseSavepoint(savepoint);
+                    return rows.size();
+                } catch (SQLException e) {
+                    if (!isConstraintViolation(e)) {
+                        throw e;
+                    }
+                    connection.rollback(savepoint);
+                    statement.clearBatch();
+                }
+                // A constraint prepare() cannot see, such as the booking overlap exclusion on PostgreSQL: insert row
+                // by row to reject only the offending rows
+                int imported = 0;
+                for (ImportedRow row : rows) {
+                    Savepoint rowSavepoint = connection.setSavepoint();
+                    try {
+                        bind(statement, row);
+                        statement.executeUpdate();
+                        connection.releaseSavepoint(rowSavepoint);
+                        imported++;
+                    } catch (SQLException e) {
+                        if (!isConstraintViolation(e)) {
+                            throw e;
+                        }
+                        connection.rollback(rowSavepoint);
+                        rejects.add(new ImportReject(row.row(), e.getMessage()));
+                    }
+                }
+                return imported;
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement statement, ImportedRow row) throws SQLException {
+        Object[] arguments = row.arguments();
+        for (int i = 0; i < arguments.length; i++) {
+            statement.setObject(i + 1, arguments[i]);
+        }
+    }
+
+    // SQLSTATE class 23: integrity constraint violation
+    private static boolean isConstraintViolation(SQLException e) {
+        for (SQLException cause = e; cause != null; cause = cause.getNextException()) {
+            if (cause.getSQLState() != null && cause.getSQLState().startsWith("23")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void awaitTermination(ExecutorService workers) {
+        try {
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Waiting for import chunks in flight");
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Progress {
+        private final ImportJobStatus job;
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private long loggedAt = startedAt;
+
+        private Progress(ImportJobStatus job) {
+            this.job = job;
+        }
+
+        void add(int importedRows, int rejectedRows) {
+            imported.addAndGet(importedRows);
+            rejected.addAndGet(rejectedRows);
+        }
+
+        // Called from the reading thread only
+        void logIfDue(long intervalNanos) {
+            long now = System.nanoTime();
+            if (now - loggedAt >= intervalNanos) {
+                loggedAt = now;
+                log.info("Import job {} ({}): {} imported, {} rejected, {} rows/s", job.id(), job.kind(),
+                        job.imported() + imported.get(), job.rejected() + rejected.get(), rowsPerSecond());
+            }
+        }
+
+        long rowsPerSecond() {
+            long elapsed = Math.max(1, System.nanoTime() - startedAt);
+            return (imported.get() + rejected.get()) * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        }
+    }
+}
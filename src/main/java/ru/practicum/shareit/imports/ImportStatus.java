@@ -0,0 +1,7 @@
+package ru.practicum.shareit.imports;
+
+public enum ImportStatus {
+    RUNNING,
+    FINISHED,
+    FAILED
+}
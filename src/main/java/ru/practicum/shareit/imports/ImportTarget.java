@@ -0,0 +1,24 @@
+package ru.practicum.shareit.imports;
+
+import java.util.List;
+
+/**
+ * What one kind of import writes and how its rows are checked.
+ */
+interface ImportTarget {
+
+    ImportKind kind();
+
+    String insertSql();
+
+    /**
+     * Validates a chunk with the rules of the regular API and turns the accepted rows into insert parameters. Runs in
+     * the chunk's transaction; rows referenced by the chunk are looked up once per chunk, not per row.
+     */
+    PreparedChunk prepare(List<ImportRow> rows);
+
+    /**
+     * Called once the whole file is imported, to refresh what caches or indexes the rows written behind JPA's back.
+     */
+    void afterImport();
+}
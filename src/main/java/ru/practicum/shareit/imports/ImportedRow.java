@@ -0,0 +1,7 @@
+package ru.practicum.shareit.imports;
+
+/**
+ * A validated row as the parameters of its target's insert statement.
+ */
+record ImportedRow(long row, Object[] arguments) {
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.imports;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.index.ItemSearchIndex;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.validation.RequestRules;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Items: {@code name}, {@code description}, {@code available}, {@code ownerId}.
+ */
+@Component
+class ItemImportTarget implements ImportTarget {
+    // Same sequence and block size as Item's @SequenceGenerator, so ids stay dense and never collide with JPA's
+    private static final String SEQUENCE = "items_seq";
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final UserRepository userRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextBlockSql;
+
+    ItemImportTarget(UserRepository userRepository, ItemSearchIndex itemSearchIndex,
+                     JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.userRepository = userRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(SEQUENCE);
+    }
+
+    @Override
+    public ImportKind kind() {
+        return ImportKind.ITEMS;
+    }
+
+    @Override
+    public String insertSql() {
+        return "INSERT INTO items (id, name, description, available, owner_id) VALUES (?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    public PreparedChunk prepare(List<ImportRow> rows) {
+        List<ImportReject> rejects = new ArrayList<>();
+        List<ImportRow> parsed = new ArrayList<>(rows.size());
+        List<ItemDto> items = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            try {
+                items.add(toItemDto(row));
+                parsed.add(row);
+            } catch (ValidationException e) {
+                rejects.add(new ImportReject(row.number(), e.getMessage()));
+            }
+        }
+        Set<Long> owners = new HashSet<>(userRepository.findIdsIn(items.stream()
+                .map(ItemDto::getOwnerId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList()));
+
+        List<Item> accepted = new ArrayList<>(items.size());
+        List<Long> acceptedRows = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ItemDto itemDto = items.get(i);
+            String error = validate(itemDto, owners);
+            if (error != null) {
+                rejects.add(new ImportReject(parsed.get(i).number(), error));
+                continue;
+            }
+            User owner = new User();
+            owner.setId(itemDto.getOwnerId());
+            accepted.add(ItemMapper.toEntity(itemDto, owner));
+            acceptedRows.add(parsed.get(i).number());
+        }
+
+        List<ImportedRow> imported = new ArrayList<>(accepted.size());
+        long[] ids = allocateIds(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Item item = accepted.get(i);
+            imported.add(new ImportedRow(acceptedRows.get(i), new Object[]{ids[i], item.getName(),
+                    item.getDescription(), item.isAvailable(), item.getOwner().getId()}));
+        }
+        return new PreparedChunk(imported, rejects);
+    }
+
+    @Override
+    public void afterImport() {
+        if (itemSearchIndex.isEnabled()) {
+            itemSearchIndex.rebuild();
+        }
+    }
+
+    private static ItemDto toItemDto(ImportRow row) {
+        if (row.error() != null) {
+            throw new ValidationException(row.error());
+        }
+        return new ItemDto(null, row.text("name"), row.text("description"), row.bool("available"),
+                row.longValue("ownerId"), null);
+    }
+
+    private String validate(ItemDto itemDto, Set<Long> owners) {
+        String error = RequestRules.newItem(itemDto);
+        if (error != null) {
+            return error;
+        }
+        if (itemDto.getOwnerId() == null) {
+            return "Owner is required";
+        }
+        if (!owners.contains(itemDto.getOwnerId())) {
+            return "User with id=" + itemDto.getOwnerId() + " not found";
+        }
+        return null;
+    }
+
+    // pooled-lo: every sequence value opens a block of ALLOCATION_SIZE ids starting at that value
+    private long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i += ALLOCATION_SIZE) {
+            long low = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+            for (int j = i; j < Math.min(count, i + ALLOCATION_SIZE); j++) {
+                ids[j] = low + j - i;
+            }
+        }
+        return ids;
+    }
+}
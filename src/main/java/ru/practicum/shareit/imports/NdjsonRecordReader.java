@@ -0,0 +1,58 @@
+package ru.practicum.shareit.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One JSON object per line; blank lines are skipped and a line that is not an object becomes a malformed record
+ * instead of failing the file.
+ */
+class NdjsonRecordReader implements ImportRecordReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long number;
+
+    NdjsonRecordReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader, BUFFER_SIZE);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        number++;
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return ImportRow.malformed(number, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ImportRow.malformed(number, "Expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(entry ->
+                fields.put(entry.getKey(), entry.getValue().isNull() ? null : entry.getValue().asText()));
+        return new ImportRow(number, fields, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
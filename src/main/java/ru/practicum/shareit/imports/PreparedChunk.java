@@ -0,0 +1,6 @@
+package ru.practicum.shareit.imports;
+
+import java.util.List;
+
+record PreparedChunk(List<ImportedRow> rows, List<ImportReject> rejects) {
+}
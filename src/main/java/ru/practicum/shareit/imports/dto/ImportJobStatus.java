@@ -0,0 +1,14 @@
+package ru.practicum.shareit.imports.dto;
+
+import ru.practicum.shareit.imports.ImportKind;
+import ru.practicum.shareit.imports.ImportStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * An import job as recorded in its checkpoints; counters cover every run of the job, resumed ones included.
+ */
+public record ImportJobStatus(long id, ImportKind kind, String file, ImportStatus status, int chunkSize,
+                              long chunksDone, long imported, long rejected, LocalDateTime started,
+                              LocalDateTime finished, String error) {
+}
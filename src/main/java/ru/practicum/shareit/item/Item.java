@@ -8,24 +8,26 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @Entity
-@AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "items")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
     @Column(name = "name", nullable = false)
     private String name;
@@ -38,4 +40,37 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+    // The booking summary, written only in SQL by ItemBookingSummaries
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_booking_id", insertable = false, updatable = false)
+    private Long lastBookingId;
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_booker_id", insertable = false, updatable = false)
+    private Long lastBookerId;
+    @Setter(AccessLevel.NONE)
+    @Column(name = "next_booking_id", insertable = false, updatable = false)
+    private Long nextBookingId;
+    @Setter(AccessLevel.NONE)
+    @Column(name = "next_booker_id", insertable = false, updatable = false)
+    private Long nextBookerId;
+    @Setter(AccessLevel.NONE)
+    @Column(name = "next_start", insertable = false, updatable = false)
+    private LocalDateTime nextStart;
+    // Written only in SQL by ItemCommentCounts
+    @Setter(AccessLevel.NONE)
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private int commentCount;
+
+    public Item(Long id, String name, String description, boolean available, User owner, ItemRequest request) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.owner = owner;
+        this.request = request;
+    }
+
+    public ItemBookingSummary getBookingSummary() {
+        return new ItemBookingSummary(id, lastBookingId, lastBookerId, nextBookingId, nextBookerId, nextStart);
+    }
 }
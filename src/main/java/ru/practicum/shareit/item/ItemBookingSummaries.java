@@ -0,0 +1,154 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.Booking;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The booking summary columns of {@code items}. Admitting a booking moves "next" forward with a compare-and-set;
+ * rejecting one recomputes the item only if the summary points at it; the sweeper recomputes items whose next
+ * booking has started. A recomputation is five index probes of {@code idx_bookings_item_start}, whatever the length
+ * of the item's booking history.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemBookingSummaries {
+    private static final String LAST = "(SELECT b.%s FROM bookings b WHERE b.item_id = i.id "
+            + "AND b.status <> 'REJECTED' AND b.start_date <= :now ORDER BY b.start_date DESC, b.id DESC LIMIT 1)";
+    private static final String NEXT = "(SELECT b.%s FROM bookings b WHERE b.item_id = i.id "
+            + "AND b.status <> 'REJECTED' AND b.start_date > :now ORDER BY b.start_date, b.id LIMIT 1)";
+    private static final String REFRESH = "UPDATE items i SET "
+            + "last_booking_id = " + LAST.formatted("id") + ", "
+            + "last_booker_id = " + LAST.formatted("booker_id") + ", "
+            + "next_booking_id = " + NEXT.formatted("id") + ", "
+            + "next_booker_id = " + NEXT.formatted("booker_id") + ", "
+            + "next_start = " + NEXT.formatted("start_date") + " ";
+    private static final String COMPUTE = "SELECT i.id, "
+            + LAST.formatted("id") + " AS last_booking_id, "
+            + LAST.formatted("booker_id") + " AS last_booker_id, "
+            + NEXT.formatted("id") + " AS next_booking_id, "
+            + NEXT.formatted("booker_id") + " AS next_booker_id, "
+            + NEXT.formatted("start_date") + " AS next_start "
+            + "FROM items i WHERE i.id IN (:ids)";
+    private static final RowMapper<ItemBookingSummary> SUMMARY_MAPPER = (rs, rowNum) -> new ItemBookingSummary(
+            rs.getLong("id"),
+            rs.getObject("last_booking_id", Long.class),
+            rs.getObject("last_booker_id", Long.class),
+            rs.getObject("next_booking_id", Long.class),
+            rs.getObject("next_booker_id", Long.class),
+            toLocalDateTime(rs.getTimestamp("next_start")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * The stored summaries as of {@code now}: current ones as they are, stale ones recomputed (without writing), so
+     * that read-only transactions get them right between two sweeps.
+     */
+    public Map<Long, ItemBookingSummary> current(Collection<ItemBookingSummary> stored, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = toMap(stored);
+        List<Long> stale = stored.stream()
+                .filter(summary -> summary.isStale(now))
+                .map(ItemBookingSummary::itemId)
+                .toList();
+        if (!stale.isEmpty()) {
+            summaries.putAll(compute(stale, now));
+        }
+        return summaries;
+    }
+
+    public Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        return toMap(jdbcTemplate.query(COMPUTE, new MapSqlParameterSource("ids", itemIds)
+                .addValue("now", Timestamp.valueOf(now)), SUMMARY_MAPPER));
+    }
+
+    /**
+     * Takes a just admitted booking into account. A booking of the future becomes the next one if it starts before
+     * the current next one; the check and the write are one statement, so concurrent admissions cannot undo each
+     * other.
+     */
+    public void admitted(Booking booking, LocalDateTime now) {
+        Long itemId = booking.getItem().getId();
+        if (!booking.getStart().isAfter(now)) {
+            refresh(List.of(itemId), now);
+            return;
+        }
+        jdbcTemplate.update("UPDATE items SET next_booking_id = :bookingId, next_booker_id = :bookerId, "
+                        + "next_start = :start WHERE id = :itemId AND (next_start IS NULL OR next_start > :start "
+                        + "OR next_start = :start AND next_booking_id > :bookingId)",
+                new MapSqlParameterSource("itemId", itemId)
+                        .addValue("bookingId", booking.getId())
+                        .addValue("bookerId", booking.getBooker().getId())
+                        .addValue("start", Timestamp.valueOf(booking.getStart())));
+    }
+
+    /**
+     * Recomputes the item if its summary points at a booking that has been rejected.
+     */
+    public void rejected(Long itemId, Long bookingId, LocalDateTime now) {
+        jdbcTemplate.update(REFRESH + "WHERE i.id = :itemId AND (i.last_booking_id = :bookingId "
+                        + "OR i.next_booking_id = :bookingId)",
+                new MapSqlParameterSource("itemId", itemId)
+                        .addValue("bookingId", bookingId)
+                        .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    public int refresh(Collection<Long> itemIds, LocalDateTime now) {
+        return jdbcTemplate.update(REFRESH + "WHERE i.id IN (:ids)", new MapSqlParameterSource("ids", itemIds)
+                .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    /**
+     * Recomputes the items with ids in {@code (fromId, toId]}.
+     */
+    public int rebuild(long fromId, long toId, LocalDateTime now) {
+        return jdbcTemplate.update(REFRESH + "WHERE i.id > :fromId AND i.id <= :toId",
+                new MapSqlParameterSource("fromId", fromId)
+                        .addValue("toId", toId)
+                        .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    public long maxItemId() {
+        Long maxId = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT MAX(id) FROM items", Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    /**
+     * Items whose next booking has started by {@code now}, served by {@code idx_items_next_start}.
+     */
+    public List<Long> findDue(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM items WHERE next_start <= :now ORDER BY next_start LIMIT "
+                + ":limit", new MapSqlParameterSource("now", Timestamp.valueOf(now)).addValue("limit", limit),
+                Long.class);
+    }
+
+    /**
+     * Items whose summary points at a booking of the user. Deleting a user cascades to their bookings; this is
+     * a scan of {@code items}, but user deletion is rare.
+     */
+    public List<Long> findBookedBy(Long userId) {
+        return jdbcTemplate.queryForList("SELECT id FROM items WHERE last_booker_id = :userId "
+                + "OR next_booker_id = :userId", Map.of("userId", userId), Long.class);
+    }
+
+    private static Map<Long, ItemBookingSummary> toMap(Collection<ItemBookingSummary> summaries) {
+        Map<Long, ItemBookingSummary> byItem = new HashMap<>(summaries.size() * 2);
+        for (ItemBookingSummary summary : summaries) {
+            byItem.put(summary.itemId(), summary);
+        }
+        return byItem;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
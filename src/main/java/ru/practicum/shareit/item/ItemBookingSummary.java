@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last booking of an item (the latest non-rejected one that has started) and the next (the earliest one still
+ * to start), as stored on the item row. The item view and the owner's listing share it, so a booking in progress is
+ * the last one in both.
+ */
+public record ItemBookingSummary(Long itemId, Long lastBookingId, Long lastBookerId, Long nextBookingId,
+                                 Long nextBookerId, LocalDateTime nextStart) {
+
+    /**
+     * Whether the next booking has started since the summary was written, so it is the last one by now and the
+     * next one is unknown until the sweeper gets to the item.
+     */
+    public boolean isStale(LocalDateTime now) {
+        return nextStart != null && !nextStart.isAfter(now);
+    }
+
+    public BookingShortDto lastBooking() {
+        return lastBookingId == null ? null : new BookingShortDto(lastBookingId, lastBookerId);
+    }
+
+    public BookingShortDto nextBooking() {
+        return nextBookingId == null ? null : new BookingShortDto(nextBookingId, nextBookerId);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "bookingsummaries")
+public class ItemBookingSummaryEndpoint {
+    private final ItemBookingSummaryJob job;
+
+    @WriteOperation
+    public int rebuild() {
+        return job.rebuild();
+    }
+}
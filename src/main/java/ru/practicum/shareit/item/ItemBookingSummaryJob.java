@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the stored booking summaries current as time passes, and rebuilds them from the bookings to repair any
+ * drift (a rejection racing an admission of the same item, bookings written around the service). Every statement
+ * commits on its own, so neither job holds item rows locked for longer than one chunk.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryJob {
+    private static final int CHUNK = 1_000;
+
+    private final ItemBookingSummaries summaries;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    @Scheduled(initialDelayString = "${shareit.booking-summary.sweep-interval}",
+            fixedDelayString = "${shareit.booking-summary.sweep-interval}")
+    public void sweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    /**
+     * Advances the items whose next booking has started by {@code now}: it becomes their last booking and the one
+     * after it their next.
+     */
+    public int sweep(LocalDateTime now) {
+        int swept = 0;
+        for (List<Long> due = summaries.findDue(now, CHUNK); !due.isEmpty(); due = summaries.findDue(now, CHUNK)) {
+            summaries.refresh(due, now);
+            due.forEach(itemId -> eventPublisher.publishEvent(new ItemChangedEvent(itemId)));
+            swept += due.size();
+        }
+        return swept;
+    }
+
+    @Scheduled(cron = "${shareit.booking-summary.rebuild-cron}")
+    public int rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        long maxId = summaries.maxItemId();
+        int rebuilt = 0;
+        for (long fromId = 0; fromId < maxId; fromId += CHUNK) {
+            rebuilt += summaries.rebuild(fromId, Math.min(fromId + CHUNK, maxId), now);
+        }
+        Cache details = cacheManager.getCache(CacheConfig.ITEM_DETAILS);
+        if (details != null) {
+            details.clear();
+        }
+        log.info("Rebuilt the booking summaries of {} items", rebuilt);
+        return rebuilt;
+    }
+
+    // The user's bookings are gone with them (ON DELETE CASCADE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        List<Long> itemIds = summaries.findBookedBy(event.userId());
+        if (!itemIds.isEmpty()) {
+            summaries.refresh(itemIds, LocalDateTime.now());
+            itemIds.forEach(itemId -> eventPublisher.publishEvent(new ItemChangedEvent(itemId)));
+        }
+    }
+}
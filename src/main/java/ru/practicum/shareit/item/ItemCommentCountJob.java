@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.CacheConfig;
+
+/**
+ * Recounts the stored comment counts from the comments to repair any drift (comments written or removed around the
+ * service). Chunked by item id like the booking summary rebuild, and every chunk commits on its own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemCommentCountJob {
+    private static final int CHUNK = 1_000;
+
+    private final ItemCommentCounts counts;
+    private final CacheManager cacheManager;
+
+    @Scheduled(cron = "${shareit.comment-count.recount-cron}")
+    public int recount() {
+        long maxId = counts.maxItemId();
+        int recounted = 0;
+        for (long fromId = 0; fromId < maxId; fromId += CHUNK) {
+            recounted += counts.recount(fromId, Math.min(fromId + CHUNK, maxId));
+        }
+        Cache details = cacheManager.getCache(CacheConfig.ITEM_DETAILS);
+        if (details != null) {
+            details.clear();
+        }
+        log.info("Recounted the comments of {} items", recounted);
+        return recounted;
+    }
+}
@@ -1,10 +1,10 @@
 package ru.practicum.shareit.item;
 
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,45 +14,74 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.batch.dto.BatchRowResult;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPage;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingsAndComments;
+import ru.practicum.shareit.stream.NdjsonWriter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.OK;
 
 @Slf4j
-@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/items")
 public class ItemController {
 
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    private static final String DEFAULT_COMMENT_PAGE_SIZE = "20";
+
     private final ItemService itemService;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping
     public ResponseEntity<List<ItemDtoBookingsAndComments>> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
         return ResponseEntity.ok(itemService.findAllByOwnerId(ownerId));
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonWriter.<ItemDtoBookingsAndComments>write(
+                        consumer -> itemService.streamAllByOwnerId(ownerId, consumer)));
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<ItemDtoBookingsAndComments> findById(@RequestHeader("X-Sharer-User-Id") Long ownerId, @PathVariable Long itemId) {
         return ResponseEntity.ok(itemService.findById(ownerId, itemId));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ItemDto>> search(@RequestParam("text") String text) {
-        return ResponseEntity.ok(itemService.search(text));
+    public ResponseEntity<List<ItemDto>> search(@RequestParam("text") String text,
+                                                @RequestParam(value = "from", defaultValue = "0") int from,
+                                                @RequestParam(value = "size", defaultValue = "20") int size,
+                                                @RequestParam(value = "availableFrom", required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime availableFrom,
+                                                @RequestParam(value = "availableTo", required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime availableTo) {
+        return ResponseEntity.ok(itemService.search(text, from, size, availableFrom, availableTo));
     }
 
     @PostMapping
-    public ResponseEntity<ItemDto> create(@Valid @RequestBody ItemDto itemDto,
+    public ResponseEntity<ItemDto> create(@RequestBody ItemDto itemDto,
                                           @RequestHeader("X-Sharer-User-Id") Long userId) {
         return ResponseEntity.status(CREATED).body(itemService.create(itemDto, userId));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchRowResult<ItemDto>>> createBatch(
+            @RequestBody List<ItemDto> items,
+            @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return ResponseEntity.ok(itemService.createBatch(items, ownerId));
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<ItemDto> update(@PathVariable Long itemId,
                                           @RequestBody ItemDto itemDto,
@@ -61,8 +90,20 @@ public class ItemController {
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<CommentDto> addComment(@RequestBody @Valid CommentDto commentDto, @PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long authorId) {
+    public ResponseEntity<CommentDto> addComment(@RequestBody CommentDto commentDto, @PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long authorId) {
         log.info("Получен запрос POST /items");
         return ResponseEntity.status(OK).body(itemService.addComment(commentDto, itemId, authorId));
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> findComments(@PathVariable Long itemId,
+                                                         @RequestParam(value = "pageToken", required = false) String pageToken,
+                                                         @RequestParam(value = "size", defaultValue = DEFAULT_COMMENT_PAGE_SIZE) int size) {
+        CommentPage page = itemService.findComments(itemId, pageToken, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+        }
+        return response.body(page.getComments());
+    }
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.comment.dto.CommentDto;
+
+import java.util.List;
+
+public record ItemDetails(Long id, String name, String description, boolean available, Long ownerId,
+                          List<CommentDto> comments, int commentCount, ItemBookingSummary bookings) {
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.comment.CommentProperties;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ItemDetailsLoader {
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final CommentProperties commentProperties;
+
+    // Read-write so that it reads the primary: a lagging replica could put the evicted state back for the whole TTL
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.ITEM_DETAILS, key = "#itemId", sync = true)
+    public ItemDetails load(Long itemId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item with id=" + itemId + " not found"));
+
+        // Newest first from the index, embedded oldest first as before
+        List<CommentDto> comments = new ArrayList<>(commentRepository.findLatestByItemId(itemId,
+                Limit.of(commentProperties.getEmbedded())));
+        Collections.reverse(comments);
+
+        return new ItemDetails(item.getId(), item.getName(), item.getDescription(), item.isAvailable(),
+                item.getOwner().getId(), List.copyOf(comments), item.getCommentCount(), item.getBookingSummary());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheConfig.ITEM_DETAILS, key = "#event.itemId()")
+    public void onItemChanged(ItemChangedEvent event) {
+    }
+}
@@ -1,15 +1,47 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerId(Long ownerId);
 
+    @Query("SELECT new ru.practicum.shareit.item.ItemOwner(i.id, i.owner.id) FROM Item i WHERE i.id IN :ids")
+    List<ItemOwner> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT i FROM Item i WHERE i.available = true AND (i.name ILIKE CONCAT('%', :text, '%') OR i.description ILIKE CONCAT('%', :text, '%'))")
-    List<Item> search(@Param("text") String text);
+    @Query("SELECT new ru.practicum.shareit.request.dto.ItemAnswerDto(i.id, i.name, i.owner.id, i.request.id) "
+            + "FROM Item i WHERE i.request.id IN :requestIds ORDER BY i.id")
+    List<ItemAnswerDto> findAnswersByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Item> streamByOwnerIdOrderByIdAsc(Long ownerId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Item> streamAllByAvailableTrueOrderByIdAsc();
+
+    @Query("SELECT i FROM Item i WHERE i.available = true AND (i.name ILIKE CONCAT('%', :text, '%') OR i.description ILIKE CONCAT('%', :text, '%')) ORDER BY i.id")
+    List<Item> search(@Param("text") String text, Pageable pageable);
+
+    @Query(value = "SELECT i.* FROM items i " +
+            "WHERE i.available = true " +
+            "AND to_tsvector('simple', lower(i.name || ' ' || i.description)) @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(to_tsvector('simple', lower(i.name || ' ' || i.description)), to_tsquery('simple', :query)) DESC, i.id " +
+            "LIMIT :size OFFSET :from", nativeQuery = true)
+    List<Item> searchFullText(@Param("query") String query, @Param("from") int from, @Param("size") int size);
 }
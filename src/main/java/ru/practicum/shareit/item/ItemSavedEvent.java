@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item;
+
+public record ItemSavedEvent(Item item) {
+}
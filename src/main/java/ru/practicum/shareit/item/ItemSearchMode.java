@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item;
+
+public enum ItemSearchMode {
+    FULL_TEXT,
+    SUBSTRING,
+    IN_MEMORY
+}
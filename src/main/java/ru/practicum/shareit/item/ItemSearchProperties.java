@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.search")
+public class ItemSearchProperties {
+    private ItemSearchMode mode = ItemSearchMode.FULL_TEXT;
+    private int maxPageSize = 100;
+}
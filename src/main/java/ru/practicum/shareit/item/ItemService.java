@@ -1,22 +1,33 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.web.bind.annotation.RequestParam;
+import ru.practicum.shareit.batch.dto.BatchRowResult;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPage;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingsAndComments;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDtoBookingsAndComments findById(Long ownerId, Long itemId);
 
     ItemDto create(ItemDto itemDto, Long userId);
 
+    List<BatchRowResult<ItemDto>> createBatch(List<ItemDto> items, Long ownerId);
+
     ItemDto update(Long itemId, ItemDto itemDto, Long userId);
 
     List<ItemDtoBookingsAndComments> findAllByOwnerId(Long ownerId);
 
-    List<ItemDto> search(@RequestParam("text") String text);
+    void streamAllByOwnerId(Long ownerId, Consumer<ItemDtoBookingsAndComments> consumer);
+
+    List<ItemDto> search(String text, int from, int size);
+
+    List<ItemDto> search(String text, int from, int size, LocalDateTime availableFrom, LocalDateTime availableTo);
 
     CommentDto addComment(CommentDto commentDto, Long itemId, Long authorId);
+
+    CommentPage findComments(Long itemId, String pageToken, int size);
 }
@@ -1,97 +1,188 @@
 package ru.practicum.shareit.item;
 
-import jakarta.validation.ValidationException;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.availability.AvailabilityIndex;
+import ru.practicum.shareit.availability.AvailabilityService;
+import ru.practicum.shareit.availability.ItemTimeline;
+import ru.practicum.shareit.batch.BatchProperties;
+import ru.practicum.shareit.batch.dto.BatchRowResult;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingShortDto;
-import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentPageToken;
+import ru.practicum.shareit.comment.CommentProperties;
+import ru.practicum.shareit.comment.ItemComment;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPage;
 import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.comment.CommentRepository;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingsAndComments;
+import ru.practicum.shareit.item.index.ItemSearchIndex;
+import ru.practicum.shareit.item.index.ItemTokenizer;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.KnownUsers;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.validation.RequestRules;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int STREAM_CHUNK = 500;
+
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final UserRepository userRepository;
+    private final KnownUsers knownUsers;
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ItemSearchProperties searchProperties;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDetailsLoader itemDetailsLoader;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final ItemCommentCounts itemCommentCounts;
+    private final CommentProperties commentProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AvailabilityIndex availabilityIndex;
+    private final BatchProperties batchProperties;
+    private final ItemRequestRepository itemRequestRepository;
 
+    // Only reads through the cache, whose loader has its own transaction
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ItemDtoBookingsAndComments findById(Long ownerId, Long itemId) {
-        Item existedItem = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Item with id=" + itemId + " not found"));
-
-        List<Booking> itemBookings = bookingRepository
-                .findAllByItemIdAndStatusNotOrderByStartAsc(existedItem.getId(), BookingStatus.REJECTED);
-
-        List<Booking> bookingsBefore = itemBookings.stream()
-                .filter(i -> i.getStart().isBefore(LocalDateTime.now()))
-                .collect(Collectors.toList());
-        List<Booking> bookingsAfter = itemBookings.stream()
-                .filter(i -> i.getStart().isAfter(LocalDateTime.now()))
-                .collect(Collectors.toList());
-
-        List<CommentDto> commentDtoList = CommentMapper.listToCommentDto(
-                commentRepository.findAllByItemIdOrderByCreatedAsc(itemId)
-        );
-
-        BookingShortDto lastBooking = bookingsBefore.isEmpty() ? null : new BookingShortDto(
-                bookingsBefore.get(bookingsBefore.size() - 1).getId(),
-                bookingsBefore.get(bookingsBefore.size() - 1).getBooker().getId()
-        );
-
-        BookingShortDto nextBooking = bookingsAfter.isEmpty() ? null : new BookingShortDto(
-                bookingsAfter.get(0).getId(),
-                bookingsAfter.get(0).getBooker().getId()
-        );
+        ItemDetails details = itemDetailsLoader.load(itemId);
 
         ItemDtoBookingsAndComments dto = new ItemDtoBookingsAndComments();
-        dto.setId(existedItem.getId());
-        dto.setName(existedItem.getName());
-        dto.setDescription(existedItem.getDescription());
-        dto.setAvailable(existedItem.isAvailable());
-        dto.setComments(commentDtoList);
+        dto.setId(details.id());
+        dto.setName(details.name());
+        dto.setDescription(details.description());
+        dto.setAvailable(details.available());
+        dto.setComments(details.comments());
+        dto.setCommentCount(details.commentCount());
 
-        if (existedItem.getOwner().getId().equals(ownerId)) {
-            dto.setLastBooking(lastBooking);
-            dto.setNextBooking(nextBooking);
+        if (details.ownerId().equals(ownerId)) {
+            LocalDateTime now = LocalDateTime.now();
+            ItemBookingSummary bookings = details.bookings();
+            if (bookings.isStale(now)) {
+                bookings = itemBookingSummaries.compute(List.of(itemId), now).get(itemId);
+            }
+            dto.setLastBooking(bookings.lastBooking());
+            dto.setNextBooking(bookings.nextBooking());
         }
 
         return dto;
     }
 
     @Override
+    @Transactional
     public ItemDto create(ItemDto itemDto, Long ownerId) {
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("User from id= " + ownerId + " not found"));
-
-        Item item = itemMapper.toEntity(itemDto, owner);
+        RequestRules.require(RequestRules.newItem(itemDto));
+        Item item = itemMapper.toEntity(itemDto, knownUsers.reference(ownerId), requestOf(itemDto.getRequestId()));
 
         Item newItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemSavedEvent(newItem));
         return itemMapper.toItemDto(newItem);
     }
 
     @Override
+    @Transactional
+    public List<BatchRowResult<ItemDto>> createBatch(List<ItemDto> items, Long ownerId) {
+        batchProperties.checkSize(items.size());
+        User owner = knownUsers.reference(ownerId);
+        Set<Long> requestIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> requests = requestIds.isEmpty() ? Set.of() : Set.copyOf(itemRequestRepository.findIdsIn(requestIds));
+
+        List<BatchRowResult<ItemDto>> results = new ArrayList<>(items.size());
+        List<Item> accepted = new ArrayList<>();
+        List<Integer> acceptedRows = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ItemDto itemDto = items.get(i);
+            String error = validateBatchRow(itemDto, ownerId, requests);
+            if (error != null) {
+                results.add(BatchRowResult.rejected(i, error));
+                continue;
+            }
+            ItemRequest request = itemDto.getRequestId() == null
+                    ? null : itemRequestRepository.getReferenceById(itemDto.getRequestId());
+            accepted.add(ItemMapper.toEntity(itemDto, owner, request));
+            acceptedRows.add(i);
+            results.add(null);
+        }
+
+        List<Item> saved = itemRepository.saveAll(accepted);
+        for (int i = 0; i < saved.size(); i++) {
+            eventPublisher.publishEvent(new ItemSavedEvent(saved.get(i)));
+            int row = acceptedRows.get(i);
+            results.set(row, BatchRowResult.created(row, ItemMapper.toItemDto(saved.get(i))));
+        }
+        return results;
+    }
+
+    private ItemRequest requestOf(Long requestId) {
+        if (requestId == null) {
+            return null;
+        }
+        return itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Item request with id=" + requestId + " not found"));
+    }
+
+    private String validateBatchRow(ItemDto itemDto, Long ownerId, Set<Long> requests) {
+        if (itemDto == null) {
+            return "Row is empty";
+        }
+        String error = RequestRules.newItem(itemDto);
+        if (error != null) {
+            return error;
+        }
+        // Items are created for the requesting user only; a row may repeat its id but never name another owner
+        if (itemDto.getOwnerId() != null && !itemDto.getOwnerId().equals(ownerId)) {
+            return "Owner id mismatch";
+        }
+        if (itemDto.getRequestId() != null && !requests.contains(itemDto.getRequestId())) {
+            return "Item request with id=" + itemDto.getRequestId() + " not found";
+        }
+        return null;
+    }
+
+    @Override
+    @Transactional
     public ItemDto update(Long itemId, ItemDto itemDto, Long ownerId) {
+        RequestRules.require(RequestRules.itemPatch(itemDto));
         Optional<Item> itemOld = itemRepository.findById(itemId);
         if (itemOld == null) {
             throw new NotFoundException(String.format("Item with id %s not found", itemId));
@@ -109,79 +200,190 @@ public class ItemServiceImpl implements ItemService {
             itemOld.get().setAvailable(itemDto.getAvailable());
         }
         Item updatedItem = itemRepository.save(itemOld.get());
+        eventPublisher.publishEvent(new ItemSavedEvent(updatedItem));
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
         return itemMapper.toItemDto(updatedItem);
     }
 
     @Override
     public List<ItemDtoBookingsAndComments> findAllByOwnerId(Long ownerId) {
-        List<Item> items = itemRepository.findByOwnerId(ownerId);
+        return assembleWithBookingsAndComments(itemRepository.findByOwnerId(ownerId)).stream()
+                .sorted(Comparator.comparing(ItemDtoBookingsAndComments::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void streamAllByOwnerId(Long ownerId, Consumer<ItemDtoBookingsAndComments> consumer) {
+        try (Stream<Item> items = itemRepository.streamByOwnerIdOrderByIdAsc(ownerId)) {
+            List<Item> chunk = new ArrayList<>(STREAM_CHUNK);
+            Iterator<Item> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK || !iterator.hasNext()) {
+                    assembleWithBookingsAndComments(chunk).forEach(consumer);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private List<ItemDtoBookingsAndComments> assembleWithBookingsAndComments(List<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaries.current(items.stream()
+                .map(Item::getBookingSummary)
+                .toList(), now);
+        Map<Long, List<CommentDto>> commentsByItem = commentRepository
+                .findLatestByItemIdIn(itemIds, commentProperties.getEmbedded()).stream()
+                .collect(Collectors.groupingBy(ItemComment::itemId,
+                        Collectors.mapping(ItemComment::toCommentDto, Collectors.toList())));
 
         return items.stream().map(item -> {
-                    List<Booking> itemBookings = bookingRepository
-                            .findAllByItemIdAndStatusNotOrderByStartAsc(item.getId(), BookingStatus.REJECTED);
-
-                    List<Booking> bookingsBefore = itemBookings.stream()
-                            .filter(i -> i.getEnd().isBefore(LocalDateTime.now()))
-                            .collect(Collectors.toList());
-                    List<Booking> bookingsAfter = itemBookings.stream()
-                            .filter(i -> i.getStart().isAfter(LocalDateTime.now()))
-                            .collect(Collectors.toList());
-
-                    BookingShortDto lastBooking = bookingsBefore.isEmpty() ? null : new BookingShortDto(
-                            bookingsBefore.get(bookingsBefore.size() - 1).getId(),
-                            bookingsBefore.get(bookingsBefore.size() - 1).getBooker().getId()
-                    );
-
-                    BookingShortDto nextBooking = bookingsAfter.isEmpty() ? null : new BookingShortDto(
-                            bookingsAfter.get(0).getId(),
-                            bookingsAfter.get(0).getBooker().getId()
-                    );
-
-                    List<CommentDto> commentDtoList = CommentMapper.listToCommentDto(
-                            commentRepository.findAllByItemIdOrderByCreatedAsc(item.getId())
-                    );
+                    ItemBookingSummary bookings = summaries.get(item.getId());
 
                     ItemDtoBookingsAndComments dto = new ItemDtoBookingsAndComments();
                     dto.setId(item.getId());
                     dto.setName(item.getName());
                     dto.setDescription(item.getDescription());
                     dto.setAvailable(item.isAvailable());
-                    dto.setLastBooking(lastBooking);
-                    dto.setNextBooking(nextBooking);
-                    dto.setComments(commentDtoList);
+                    dto.setLastBooking(bookings.lastBooking());
+                    dto.setNextBooking(bookings.nextBooking());
+                    dto.setComments(commentsByItem.getOrDefault(item.getId(), new ArrayList<>()));
+                    dto.setCommentCount(item.getCommentCount());
 
                     return dto;
-                }).sorted(Comparator.comparing(ItemDtoBookingsAndComments::getId))
+                })
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> search(String text) {
+    public List<ItemDto> search(String text, int from, int size) {
         if (text == null || text.isBlank()) {
             return Collections.EMPTY_LIST;
         }
-        List<Item> item = itemRepository.search(text);
-        return ItemMapper.toItemDtoList(item);
+        validateSearchPage(from, size);
+        List<Item> items;
+        switch (searchProperties.getMode()) {
+            case FULL_TEXT:
+                String query = toPrefixTsQuery(text);
+                if (query.isEmpty()) {
+                    return Collections.EMPTY_LIST;
+                }
+                items = itemRepository.searchFullText(query, from, size);
+                break;
+            case SUBSTRING:
+                items = itemRepository.search(text, new OffsetPageRequest(from, size));
+                break;
+            case IN_MEMORY:
+                return itemSearchIndex.search(text, from, size);
+            default:
+                throw new IllegalStateException("Unknown search mode: " + searchProperties.getMode());
+        }
+        return ItemMapper.toItemDtoList(items);
     }
 
+    // Outside a read-only transaction so that timelines missing from the index are loaded from the primary
     @Override
-    public CommentDto addComment(CommentDto commentDto, Long itemId, Long authorId) {
-        if (commentDto.getText().isBlank()) {
-            throw new ValidationException("The text in the comment is empty");
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ItemDto> search(String text, int from, int size, LocalDateTime availableFrom,
+                                LocalDateTime availableTo) {
+        if (availableFrom == null && availableTo == null) {
+            return search(text, from, size);
+        }
+        AvailabilityService.validateWindow(availableFrom, availableTo);
+        validateSearchPage(from, size);
+
+        int chunk = searchProperties.getMaxPageSize();
+        int skipped = 0;
+        List<ItemDto> page = new ArrayList<>();
+        for (int offset = 0; ; offset += chunk) {
+            List<ItemDto> candidates = search(text, offset, chunk);
+            Map<Long, ItemTimeline> timelines = availabilityIndex.timelines(candidates.stream()
+                    .map(ItemDto::getId)
+                    .toList());
+            for (ItemDto candidate : candidates) {
+                if (!timelines.get(candidate.getId()).isFree(availableFrom, availableTo)) {
+                    continue;
+                }
+                if (skipped < from) {
+                    skipped++;
+                    continue;
+                }
+                page.add(candidate);
+                if (page.size() == size) {
+                    return page;
+                }
+            }
+            if (candidates.size() < chunk) {
+                return page;
+            }
+        }
+    }
+
+    private void validateSearchPage(int from, int size) {
+        if (from < 0 || size < 1 || size > searchProperties.getMaxPageSize()) {
+            throw new ValidationException("Invalid search page: from=" + from + ", size=" + size);
         }
+    }
+
+    private String toPrefixTsQuery(String text) {
+        return ItemTokenizer.tokenize(text).stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    @Override
+    @Transactional
+    public CommentDto addComment(CommentDto commentDto, Long itemId, Long authorId) {
+        RequestRules.require(RequestRules.comment(commentDto));
         User user = userRepository.findById(authorId)
                 .orElseThrow(() -> new NotFoundException("User with id=" + authorId + " not found"));
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item with id=" + itemId + " not found"));
 
+        LocalDateTime now = LocalDateTime.now();
         List<Booking> bookingList = bookingRepository
-                .findAllByItemIdAndBookerIdAndEndBefore(itemId, authorId, LocalDateTime.now());
+                .findAllByItemIdAndBookerIdAndEndBefore(itemId, authorId, now);
 
-        if (bookingList.isEmpty()) {
+        if (bookingList.isEmpty()
+                && !archivedBookingRepository.existsByItemIdAndBookerIdAndEndBefore(itemId, authorId, now)) {
             throw new ValidationException("Not rented");
         }
 
         Comment comment = CommentMapper.toComment(commentDto, item, user);
-        return CommentMapper.toCommentDto(commentRepository.save(comment));
+        CommentDto saved = CommentMapper.toCommentDto(commentRepository.save(comment));
+        itemCommentCounts.added(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
+        return saved;
+    }
+
+    @Override
+    public CommentPage findComments(Long itemId, String pageToken, int size) {
+        if (size < 1 || size > commentProperties.getMaxPageSize()) {
+            throw new ValidationException("Page size must be between 1 and " + commentProperties.getMaxPageSize());
+        }
+        CommentPageToken before = CommentPageToken.decode(pageToken);
+
+        // One extra row tells whether there is a next page without a count query
+        Limit limit = Limit.of(size + 1);
+        List<CommentDto> comments = before == null
+                ? commentRepository.findLatestByItemId(itemId, limit)
+                : commentRepository.findLatestByItemIdBefore(itemId, before.created(), before.id(), limit);
+        // An empty page is the only one that does not prove the item exists
+        if (comments.isEmpty() && !itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item with id=" + itemId + " not found");
+        }
+        if (comments.size() <= size) {
+            return new CommentPage(comments, null);
+        }
+        List<CommentDto> page = comments.subList(0, size);
+        return new CommentPage(page, CommentPageToken.of(page.get(size - 1)).encode());
     }
 }
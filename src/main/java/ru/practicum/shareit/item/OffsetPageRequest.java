@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * A {@link Pageable} addressed by row offset rather than page number, for the from/size parameters of the
+ * search endpoint, where {@code from} need not be a multiple of {@code size}.
+ */
+record OffsetPageRequest(long offset, int size) implements Pageable {
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return new OffsetPageRequest(Math.max(0, offset - size), size);
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
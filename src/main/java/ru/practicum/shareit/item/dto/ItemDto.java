@@ -1,7 +1,5 @@
 package ru.practicum.shareit.item.dto;
 
-import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,13 +11,8 @@ import lombok.Setter;
 @AllArgsConstructor
 public class ItemDto {
     private Long id;
-    @NotNull
-    @Size(min = 2, max = 100)
     private String name;
-    @NotNull
-    @Size(min = 10, max = 1000)
     private String description;
-    @NotNull
     private Boolean available;
     private Long ownerId;
     private Long requestId;
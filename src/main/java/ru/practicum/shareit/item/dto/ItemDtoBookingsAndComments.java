@@ -25,5 +25,7 @@ public class ItemDtoBookingsAndComments {
     private Boolean available;
     private BookingShortDto lastBooking;
     private BookingShortDto nextBooking;
+    // The latest comments only; commentCount counts them all
     private List<CommentDto> comments;
+    private int commentCount;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class IndexConsistencyReport {
+    private long indexedItems;
+    private long databaseItems;
+    private long missing;
+    private long stale;
+    private long outdated;
+
+    public boolean isConsistent() {
+        return missing == 0 && stale == 0 && outdated == 0;
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.index;
+
+import java.util.Set;
+
+record IndexedItem(long id, String name, String description, Long ownerId, Long requestId, Set<String> terms) {
+}
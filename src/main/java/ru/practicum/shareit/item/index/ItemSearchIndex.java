@@ -0,0 +1,251 @@
+package ru.practicum.shareit.item.index;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSavedEvent;
+import ru.practicum.shareit.item.ItemSearchMode;
+import ru.practicum.shareit.item.ItemSearchProperties;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int CLEAR_EVERY = 1000;
+
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ItemSearchProperties searchProperties;
+    // Not synchronized: rebuild holds the lock across JDBC reads, which would pin a virtual thread's carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile ConcurrentSkipListMap<String, PostingList> postings = new ConcurrentSkipListMap<>();
+    private volatile ConcurrentHashMap<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+
+    public ItemSearchIndex(ItemRepository itemRepository, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager, ItemSearchProperties searchProperties) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.searchProperties = searchProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return searchProperties.getMode() == ItemSearchMode.IN_MEMORY;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public int rebuild() {
+        writeLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            Map<String, LongList> builders = new HashMap<>();
+            ConcurrentHashMap<Long, IndexedItem> newDocuments = new ConcurrentHashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Item> items = itemRepository.streamAllByAvailableTrueOrderByIdAsc()) {
+                    int[] read = {0};
+                    items.forEach(item -> {
+                        IndexedItem document = toDocument(item);
+                        newDocuments.put(document.id(), document);
+                        for (String term : document.terms()) {
+                            builders.computeIfAbsent(term, t -> new LongList()).add(document.id());
+                        }
+                        if (++read[0] % CLEAR_EVERY == 0) {
+                            entityManager.clear();
+                        }
+                    });
+                }
+            });
+            ConcurrentSkipListMap<String, PostingList> newPostings = new ConcurrentSkipListMap<>();
+            builders.forEach((term, ids) -> newPostings.put(term, PostingList.of(ids.toArray())));
+            postings = newPostings;
+            documents = newDocuments;
+            log.info("Item search index rebuilt: {} items, {} terms in {} ms", newDocuments.size(), newPostings.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            return newDocuments.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // After commit, so that a rolled back write never leaves postings for a row that does not exist
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index(event.item());
+    }
+
+    public void index(Item item) {
+        if (!isEnabled()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            IndexedItem previous = documents.remove(item.getId());
+            if (previous != null) {
+                previous.terms().forEach(term -> postings.computeIfPresent(term, (t, list) -> {
+                    PostingList updated = list.without(previous.id());
+                    return updated.isEmpty() ? null : updated;
+                }));
+            }
+            if (!item.isAvailable()) {
+                return;
+            }
+            IndexedItem document = toDocument(item);
+            document.terms().forEach(term -> postings.merge(term, PostingList.of(new long[]{document.id()}),
+                    (list, single) -> list.with(document.id())));
+            documents.put(document.id(), document);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        List<String> tokens = ItemTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        NavigableMap<String, PostingList> currentPostings = postings;
+        long[] matches = null;
+        for (String token : tokens) {
+            long[] tokenMatches = union(currentPostings.subMap(token, true, token + Character.MAX_VALUE, true));
+            matches = matches == null ? tokenMatches : intersect(matches, tokenMatches);
+            if (matches.length == 0) {
+                break;
+            }
+        }
+        Map<Long, IndexedItem> currentDocuments = documents;
+        List<ItemDto> result = new ArrayList<>(Math.min(size, matches.length));
+        for (int i = from; i < matches.length && result.size() < size; i++) {
+            IndexedItem document = currentDocuments.get(matches[i]);
+            if (document != null) {
+                result.add(new ItemDto(document.id(), document.name(), document.description(), true,
+                        document.ownerId(), document.requestId()));
+            }
+        }
+        return result;
+    }
+
+    public IndexConsistencyReport check() {
+        Map<Long, IndexedItem> currentDocuments = documents;
+        Set<Long> seen = new HashSet<>();
+        long[] counters = new long[3];
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Item> items = itemRepository.streamAllByAvailableTrueOrderByIdAsc()) {
+                items.forEach(item -> {
+                    counters[0]++;
+                    seen.add(item.getId());
+                    IndexedItem document = currentDocuments.get(item.getId());
+                    if (document == null) {
+                        counters[1]++;
+                    } else if (!Objects.equals(document.name(), item.getName())
+                            || !Objects.equals(document.description(), item.getDescription())) {
+                        counters[2]++;
+                    }
+                    if (counters[0] % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                    }
+                });
+            }
+        });
+        long stale = currentDocuments.keySet().stream()
+                .filter(id -> !seen.contains(id))
+                .count();
+        return new IndexConsistencyReport(currentDocuments.size(), counters[0], counters[1], stale, counters[2]);
+    }
+
+    private IndexedItem toDocument(Item item) {
+        Set<String> terms = new HashSet<>(ItemTokenizer.tokenize(item.getName()));
+        terms.addAll(ItemTokenizer.tokenize(item.getDescription()));
+        return new IndexedItem(item.getId(), item.getName(), item.getDescription(), item.getOwner().getId(),
+                item.getRequest() != null ? item.getRequest().getId() : null, Set.copyOf(terms));
+    }
+
+    private static long[] union(Map<String, PostingList> lists) {
+        if (lists.size() == 1) {
+            return lists.values().iterator().next().toArray();
+        }
+        LongList all = new LongList();
+        lists.values().forEach(list -> all.addAll(list.toArray()));
+        long[] ids = all.toArray();
+        Arrays.sort(ids);
+        int unique = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, unique);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static final class LongList {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(long[] more) {
+            if (size + more.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + more.length));
+            }
+            System.arraycopy(more, 0, values, size, more.length);
+            size += more.length;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
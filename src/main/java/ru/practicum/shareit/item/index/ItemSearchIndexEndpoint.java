@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "itemsearchindex")
+public class ItemSearchIndexEndpoint {
+    private final ItemSearchIndex itemSearchIndex;
+
+    @ReadOperation
+    public IndexConsistencyReport check() {
+        return itemSearchIndex.check();
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("indexedItems", itemSearchIndex.rebuild());
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.index;
+
+import java.util.Arrays;
+
+public final class PostingList {
+    public static final PostingList EMPTY = new PostingList(new byte[0], 0);
+
+    private final byte[] data;
+    private final int size;
+
+    private PostingList(byte[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    public static PostingList of(long[] sortedIds) {
+        if (sortedIds.length == 0) {
+            return EMPTY;
+        }
+        byte[] buffer = new byte[sortedIds.length * 10];
+        int position = 0;
+        long previous = 0;
+        for (long id : sortedIds) {
+            long delta = id - previous;
+            while ((delta & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            buffer[position++] = (byte) delta;
+            previous = id;
+        }
+        return new PostingList(Arrays.copyOf(buffer, position), sortedIds.length);
+    }
+
+    public long[] toArray() {
+        long[] ids = new long[size];
+        int position = 0;
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += delta;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    public PostingList with(long id) {
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return of(result);
+    }
+
+    public PostingList without(long id) {
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return this;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return of(result);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int sizeInBytes() {
+        return data.length;
+    }
+}
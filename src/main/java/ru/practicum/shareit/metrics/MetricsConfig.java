@@ -0,0 +1,74 @@
+package ru.practicum.shareit.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * The application's own meters, next to what Spring Boot binds on its own: {@code http.server.requests} per
+ * endpoint, {@code spring.data.repository.invocations} per repository method, {@code hikaricp.*} per pool and
+ * {@code hibernate.*} from the session factory statistics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static so that it is registered before the repository factory beans it post-processes
+    @Bean
+    public static BeanPostProcessor repositoryRowsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        SingletonSupplier<MeterRegistry> registry = SingletonSupplier.of(meterRegistry::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryRowsInterceptor(registry, information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Wraps the pools rather than the routing proxy in front of them, so that no statement is counted twice
+    @Bean
+    public static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof HikariDataSource pool ? new StatementCountingDataSource(pool) : bean;
+            }
+        };
+    }
+
+    // hikaricp.connections.* has the parts; this is the ratio a saturation alert wants
+    @Bean
+    public MeterBinder connectionPoolSaturation(ListableBeanFactory beanFactory) {
+        // The pools are wrapped; the routing proxy unwraps to the primary pool too and is skipped
+        return registry -> beanFactory.getBeansOfType(DataSource.class).forEach((name, dataSource) -> {
+            HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+            if (pool != null && (dataSource instanceof StatementCountingDataSource || dataSource == pool)) {
+                Gauge.builder("shareit.datasource.pool.saturation", pool, MetricsConfig::saturation)
+                        .description("Active connections over the maximum pool size")
+                        .tag("pool", name)
+                        .register(registry);
+            }
+        });
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        return bean == null ? 0 : (double) bean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Records how many rows each repository method returned; the time it took is Spring Boot's
+ * {@code spring.data.repository.invocations}. Streams are counted as they are consumed and recorded on close.
+ */
+class RepositoryRowsInterceptor implements MethodInterceptor {
+    static final String METRIC = "shareit.repository.rows";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final String repository;
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    RepositoryRowsInterceptor(Supplier<MeterRegistry> meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (result instanceof Collection<?> rows) {
+            summary(invocation.getMethod()).record(rows.size());
+        } else if (result instanceof Slice<?> slice) {
+            summary(invocation.getMethod()).record(slice.getNumberOfElements());
+        } else if (result instanceof Optional<?> row) {
+            summary(invocation.getMethod()).record(row.isPresent() ? 1 : 0);
+        } else if (result instanceof Stream<?> stream) {
+            DistributionSummary summary = summary(invocation.getMethod());
+            long[] rows = new long[1];
+            return stream.peek(row -> rows[0]++).onClose(() -> summary.record(rows[0]));
+        }
+        return result;
+    }
+
+    private DistributionSummary summary(Method method) {
+        return summaries.computeIfAbsent(method, key -> DistributionSummary.builder(METRIC)
+                .description("Rows returned by a repository method")
+                .tag("repository", repository)
+                .tag("method", key.getName())
+                .register(meterRegistry.get()));
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.metrics;
+
+/**
+ * Counts the JDBC statements created on the current thread between {@link #start()} and {@link #stop()}. The count
+ * is taken on the pools' connections by {@link StatementCountingDataSource}, so it spans Hibernate sessions, the
+ * {@code JdbcTemplate} queries and the transactions of their own that cache loaders run in.
+ */
+public final class SqlStatementCounter {
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    public static long stop() {
+        long[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment() {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Wraps a connection pool so that every statement created on its connections counts towards
+ * {@link SqlStatementCounter}, whether Hibernate or a {@code JdbcTemplate} creates it. Only the pools are wrapped,
+ * not the routing proxy in front of them, so each statement is counted once.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    public StatementCountingDataSource(DataSource pool) {
+        super(pool);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> invoke(target, proxy, method, args));
+    }
+
+    private static Object invoke(Connection target, Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "getTargetConnection" -> {
+                return target;
+            }
+            default -> {
+                if (STATEMENT_FACTORIES.contains(method.getName())) {
+                    SqlStatementCounter.increment();
+                }
+            }
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.paging;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Codec for opaque keyset cursors: the sort keys of the last row of the previous page, joined with {@code |} and
+ * base64url encoded. Each page token record encodes its keys here and parses them back from the decoded parts.
+ */
+public final class PageTokens {
+    private static final String SEPARATOR = "|";
+    private static final Pattern SPLITTER = Pattern.compile(Pattern.quote(SEPARATOR));
+
+    private PageTokens() {
+    }
+
+    public static String encode(Object... keys) {
+        StringJoiner raw = new StringJoiner(SEPARATOR);
+        for (Object key : keys) {
+            raw.add(String.valueOf(key));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token of {@code keys} parts with {@code parser}; {@code null} for a missing token. A token that is not
+     * base64url, has another number of parts or whose parts the parser rejects is a {@link ValidationException}.
+     */
+    public static <T> T decode(String token, int keys, Function<String[], T> parser) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = SPLITTER.split(decoded, -1);
+            if (parts.length != keys) {
+                throw new ValidationException("Invalid page token: " + token);
+            }
+            return parser.apply(parts);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException("Invalid page token: " + token);
+        }
+    }
+}
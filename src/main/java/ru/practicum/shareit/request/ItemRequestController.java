@@ -1,9 +1,60 @@
 package ru.practicum.shareit.request;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPage;
 
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.CREATED;
+
+@Slf4j
+@RequiredArgsConstructor
 @RestController
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    private final ItemRequestService itemRequestService;
+
+    @PostMapping
+    public ResponseEntity<ItemRequestDto> create(@RequestBody ItemRequestDto itemRequestDto,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return ResponseEntity.status(CREATED).body(itemRequestService.create(itemRequestDto, userId));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ItemRequestDto>> findOwn(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return ResponseEntity.ok(itemRequestService.findOwn(userId));
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<List<ItemRequestDto>> findOthers(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam(value = "pageToken", required = false) String pageToken,
+                                                           @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        ItemRequestPage page = itemRequestService.findOthers(userId, pageToken, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+        }
+        return response.body(page.getRequests());
+    }
+
+    @GetMapping("/{requestId}")
+    public ResponseEntity<ItemRequestDto> findById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long requestId) {
+        return ResponseEntity.ok(itemRequestService.findById(userId, requestId));
+    }
 }
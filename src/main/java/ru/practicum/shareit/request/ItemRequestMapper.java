@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+@Component
+public class ItemRequestMapper {
+
+    public static ItemRequestDto toItemRequestDto(ItemRequest request, List<ItemAnswerDto> answers) {
+        return new ItemRequestDto(
+                request.getId(),
+                request.getDescription(),
+                request.getCreated(),
+                answers
+        );
+    }
+}
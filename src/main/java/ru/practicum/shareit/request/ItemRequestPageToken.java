@@ -0,0 +1,23 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.paging.PageTokens;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset cursor over requests ordered by {@code created DESC, id DESC}: the last request of the previous page.
+ */
+public record ItemRequestPageToken(LocalDateTime created, Long id) {
+    public static ItemRequestPageToken of(ItemRequest request) {
+        return new ItemRequestPageToken(request.getCreated(), request.getId());
+    }
+
+    public static ItemRequestPageToken decode(String token) {
+        return PageTokens.decode(token, 2,
+                keys -> new ItemRequestPageToken(LocalDateTime.parse(keys[0]), Long.valueOf(keys[1])));
+    }
+
+    public String encode() {
+        return PageTokens.encode(created, id);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+
+    List<ItemRequest> findAllByRequestorIdOrderByCreatedDescIdDesc(Long requestorId);
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id <> :userId ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOthers(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id <> :userId "
+            + "AND (r.created < :created OR r.created = :created AND r.id < :id) ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOthersAfter(@Param("userId") Long userId, @Param("created") LocalDateTime created,
+                                      @Param("id") Long id, Limit limit);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :ids")
+    List<Long> findIdsIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPage;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ItemRequestDto create(ItemRequestDto itemRequestDto, Long requestorId);
+
+    List<ItemRequestDto> findOwn(Long requestorId);
+
+    ItemRequestPage findOthers(Long userId, String pageToken, int size);
+
+    ItemRequestDto findById(Long userId, Long requestId);
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPage;
+import ru.practicum.shareit.user.KnownUsers;
+import ru.practicum.shareit.validation.RequestRules;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemRequestServiceImpl implements ItemRequestService {
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final KnownUsers knownUsers;
+
+    @Override
+    @Transactional
+    public ItemRequestDto create(ItemRequestDto itemRequestDto, Long requestorId) {
+        RequestRules.require(RequestRules.itemRequest(itemRequestDto));
+        // Truncated to what the column stores, so the response and later page tokens see the same instant
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, itemRequestDto.getDescription(),
+                knownUsers.reference(requestorId), created));
+        return ItemRequestMapper.toItemRequestDto(request, List.of());
+    }
+
+    @Override
+    public List<ItemRequestDto> findOwn(Long requestorId) {
+        knownUsers.requireExists(requestorId);
+
+        return withAnswers(itemRequestRepository.findAllByRequestorIdOrderByCreatedDescIdDesc(requestorId));
+    }
+
+    @Override
+    public ItemRequestPage findOthers(Long userId, String pageToken, int size) {
+        knownUsers.requireExists(userId);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ItemRequestPageToken after = ItemRequestPageToken.decode(pageToken);
+
+        // One extra row tells whether there is a next page without a count query
+        Limit limit = Limit.of(size + 1);
+        List<ItemRequest> requests = after == null
+                ? itemRequestRepository.findOthers(userId, limit)
+                : itemRequestRepository.findOthersAfter(userId, after.created(), after.id(), limit);
+        if (requests.size() <= size) {
+            return new ItemRequestPage(withAnswers(requests), null);
+        }
+        List<ItemRequest> page = requests.subList(0, size);
+        return new ItemRequestPage(withAnswers(page), ItemRequestPageToken.of(page.get(size - 1)).encode());
+    }
+
+    @Override
+    public ItemRequestDto findById(Long userId, Long requestId) {
+        knownUsers.requireExists(userId);
+        ItemRequest request = itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Item request with id=" + requestId + " not found"));
+
+        return withAnswers(List.of(request)).getFirst();
+    }
+
+    // Answers to the whole page in one IN query, grouped here rather than one query per request
+    private List<ItemRequestDto> withAnswers(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ItemAnswerDto>> answers = itemRepository.findAnswersByRequestIdIn(requests.stream()
+                        .map(ItemRequest::getId)
+                        .toList()).stream()
+                .collect(Collectors.groupingBy(ItemAnswerDto::getRequestId));
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(request,
+                        answers.getOrDefault(request.getId(), List.of())))
+                .toList();
+    }
+}
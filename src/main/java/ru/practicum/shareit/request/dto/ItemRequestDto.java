@@ -1,16 +1,20 @@
 package ru.practicum.shareit.request.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
-import ru.practicum.shareit.user.dto.UserDto;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemRequestDto {
     private Long id;
     private String description;
-    private UserDto requestor;
-    private LocalDate created;
+    private LocalDateTime created;
+    private List<ItemAnswerDto> items;
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ItemRequestPage {
+    private List<ItemRequestDto> requests;
+    private String nextPageToken;
+}
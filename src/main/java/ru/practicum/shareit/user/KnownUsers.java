@@ -0,0 +1,88 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "does the user from {@code X-Sharer-User-Id} exist" from a bounded cache of ids known to exist, so that
+ * checking the header costs a query only the first time a user is seen. Only present ids are cached: an id that is
+ * not there yet may be created at any time, an existing one only goes away through {@link UserServiceImpl#delete}.
+ */
+@Component
+public class KnownUsers {
+    public static final String CACHE_NAME = "knownUsers";
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final boolean replicaReads;
+    private final ConcurrentMap<Object, Object> known;
+    private final AtomicLong removals = new AtomicLong();
+
+    public KnownUsers(UserRepository userRepository, CacheManager cacheManager,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${shareit.datasource.replica.jdbc-url:}") String replicaUrl) {
+        this.userRepository = userRepository;
+        this.known = ((CaffeineCache) cacheManager.getCache(CACHE_NAME)).getNativeCache().asMap();
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.replicaReads = !replicaUrl.isBlank();
+    }
+
+    public void requireExists(Long userId) {
+        if (userId == null || !exists(userId)) {
+            throw new NotFoundException("User with id=" + userId + " not found");
+        }
+    }
+
+    /**
+     * An uninitialized proxy for a user that is known to exist, to reference as owner or booker without loading it.
+     */
+    public User reference(Long userId) {
+        requireExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    private boolean exists(Long userId) {
+        if (known.containsKey(userId)) {
+            return true;
+        }
+        // A deletion committed while the row is read would be undone by caching it, as in AvailabilityIndex
+        long removalsBefore = removals.get();
+        boolean exists;
+        boolean fromPrimary;
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // On the caller's connection: a transaction of its own would hold a second one for every miss
+            exists = userRepository.existsById(userId);
+            fromPrimary = !replicaReads || !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        } else {
+            // Read-write, so that it reads the primary; with no caller transaction it is the only connection
+            exists = Boolean.TRUE.equals(primaryTransaction.execute(status -> userRepository.existsById(userId)));
+            fromPrimary = true;
+        }
+        // A lagging replica could bring a deleted user back into the cache, so only answers of the primary are kept
+        if (exists && fromPrimary && removals.get() == removalsBefore) {
+            known.put(userId, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        known.put(event.userId(), Boolean.TRUE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        removals.incrementAndGet();
+        known.remove(event.userId());
+    }
+}
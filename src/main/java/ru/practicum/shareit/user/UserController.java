@@ -1,11 +1,10 @@
 package ru.practicum.shareit.user;
 
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,21 +12,49 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.batch.dto.BatchRowResult;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.stream.NdjsonWriter;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserPage;
+
+import java.util.List;
 
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 
 @Slf4j
 @RestController
-@Validated
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
 public class UserController {
 
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
     private final UserService userService;
+    private final NdjsonWriter ndjsonWriter;
+
+    @GetMapping
+    public ResponseEntity<List<UserDto>> findAll(@RequestParam(value = "pageToken", required = false) String pageToken,
+                                                 @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        UserPage page = userService.findPage(pageToken, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+        }
+        return response.body(page.getUsers());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonWriter.<UserDto>write(userService::streamAll));
+    }
 
     @GetMapping("/{userId}")
     public ResponseEntity<UserDto> findById(@PathVariable Long userId) {
@@ -39,10 +66,15 @@ public class UserController {
     }
 
     @PostMapping
-    public ResponseEntity<UserDto> create(@Valid @RequestBody UserDto userDto) {
+    public ResponseEntity<UserDto> create(@RequestBody UserDto userDto) {
         return ResponseEntity.status(CREATED).body(userService.create(userDto));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchRowResult<UserDto>>> createBatch(@RequestBody List<UserDto> users) {
+        return ResponseEntity.ok(userService.createBatch(users));
+    }
+
     @PatchMapping("/{userId}")
     public ResponseEntity<UserDto> updateUser(@PathVariable("userId") Long userId,
                                               @RequestBody UserDto userDto) {
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.user;
+
+public record UserDeletedEvent(Long userId) {
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user;
+
+import ru.practicum.shareit.paging.PageTokens;
+
+/**
+ * Keyset cursor over users ordered by id: the id of the last user of the previous page.
+ */
+public record UserPageToken(long id) {
+
+    public static UserPageToken decode(String token) {
+        return PageTokens.decode(token, 1, keys -> new UserPageToken(Long.parseLong(keys[0])));
+    }
+
+    public String encode() {
+        return PageTokens.encode(id);
+    }
+}
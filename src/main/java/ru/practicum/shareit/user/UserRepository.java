@@ -1,10 +1,26 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Boolean existsByEmail(String email);
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) FROM User u "
+            + "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserDto> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
 
-    Boolean existsByName(String name);
+    @Query("SELECT u.name FROM User u WHERE u.name IN :names")
+    List<String> findNamesIn(@Param("names") Collection<String> names);
 }
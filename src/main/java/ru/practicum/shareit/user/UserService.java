@@ -1,17 +1,24 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.batch.dto.BatchRowResult;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto getUserByUserId(Long userId);
 
     UserDto create(UserDto userDto);
 
+    List<BatchRowResult<UserDto>> createBatch(List<UserDto> users);
+
     UserDto update(Long userId, UserDto userDto);
 
     void delete(Long userId);
 
-    List<UserDto> findAll();
+    UserPage findPage(String pageToken, int size);
+
+    void streamAll(Consumer<UserDto> consumer);
 }
@@ -1,24 +1,47 @@
 package ru.practicum.shareit.user;
 
-import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchProperties;
+import ru.practicum.shareit.batch.dto.BatchRowResult;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserPage;
+import ru.practicum.shareit.validation.RequestRules;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int STREAM_CHUNK = 500;
+    private static final String NAME_CONSTRAINT = "UQ_USER_NAME";
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDto getUserByUserId(Long userId) {
@@ -30,34 +53,110 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto create(UserDto userDto) {
-        validateEmailName(userDto.getEmail(), userDto.getName());
-
-        if (userDto.getEmail() == null || userDto.getEmail().isEmpty()) {
-            throw new IllegalArgumentException("Email is required");
-        }
-        if (!userDto.getEmail().matches("^[\\w-.]+@([\\w-]+\\.)+[\\w-]{2,4}$")) {
-            throw new ValidationException("Email is not valid");
-        }
         if (userDto.getName() == null || userDto.getName().isEmpty()) {
             userDto.setName(userDto.getEmail());
         }
-        User newUser = userRepository.save(userMapper.toEntity(userDto));
+        RequestRules.require(RequestRules.newUser(userDto));
+        // The unique constraints on email and name decide; no exists-checks to race with
+        User newUser = saveAndFlush(userMapper.toEntity(userDto));
+        eventPublisher.publishEvent(new UserCreatedEvent(newUser.getId()));
         return userMapper.toUserDto(newUser);
     }
 
-    private void validateEmailName(String email, String name) {
-        if (userRepository.existsByEmail(email)) {
-            throw new ConflictException("Email is already used");
+    @Override
+    @Transactional
+    public List<BatchRowResult<UserDto>> createBatch(List<UserDto> users) {
+        batchProperties.checkSize(users.size());
+        users.stream()
+                .filter(user -> user != null && (user.getName() == null || user.getName().isEmpty()))
+                .forEach(user -> user.setName(user.getEmail()));
+        Set<String> takenEmails = new HashSet<>(lookup(users, UserDto::getEmail, userRepository::findEmailsIn));
+        Set<String> takenNames = new HashSet<>(lookup(users, UserDto::getName, userRepository::findNamesIn));
+
+        List<BatchRowResult<UserDto>> results = new ArrayList<>(users.size());
+        List<User> accepted = new ArrayList<>();
+        List<Integer> acceptedRows = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            UserDto userDto = users.get(i);
+            String error = validateBatchRow(userDto, takenEmails, takenNames);
+            if (error != null) {
+                results.add(BatchRowResult.rejected(i, error));
+                continue;
+            }
+            // Later rows with the same email or name conflict with this one
+            takenEmails.add(userDto.getEmail());
+            takenNames.add(userDto.getName());
+            accepted.add(userMapper.toEntity(userDto));
+            acceptedRows.add(i);
+            results.add(null);
+        }
+
+        List<User> saved;
+        try {
+            saved = userRepository.saveAllAndFlush(accepted);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent signup took an email or name after the lookup above
+            throw conflict(e);
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            int row = acceptedRows.get(i);
+            eventPublisher.publishEvent(new UserCreatedEvent(saved.get(i).getId()));
+            results.set(row, BatchRowResult.created(row, UserMapper.toUserDto(saved.get(i))));
+        }
+        return results;
+    }
+
+    private List<String> lookup(List<UserDto> users, Function<UserDto, String> key,
+                                Function<Collection<String>, List<String>> query) {
+        Set<String> keys = users.stream()
+                .filter(Objects::nonNull)
+                .map(key)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return keys.isEmpty() ? List.of() : query.apply(keys);
+    }
+
+    private String validateBatchRow(UserDto userDto, Set<String> takenEmails, Set<String> takenNames) {
+        if (userDto == null) {
+            return "Row is empty";
+        }
+        String error = RequestRules.newUser(userDto);
+        if (error != null) {
+            return error;
         }
-        if (userRepository.existsByName(name)) {
-            throw new NotFoundException("Username is used");
+        if (takenEmails.contains(userDto.getEmail())) {
+            return "Email is already used";
         }
+        if (takenNames.contains(userDto.getName())) {
+            return "Username is used";
+        }
+        return null;
+    }
+
+    private User saveAndFlush(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw conflict(e);
+        }
+    }
 
+    private ConflictException conflict(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName() : e.getMostSpecificCause().getMessage();
+        if (constraint != null && constraint.toUpperCase(Locale.ROOT).contains(NAME_CONSTRAINT)) {
+            return new ConflictException("Username is used");
+        }
+        return new ConflictException("Email is already used");
     }
 
     @Override
+    @Transactional
     public UserDto update(Long userId, UserDto userDto) {
+        RequestRules.require(RequestRules.userPatch(userDto));
 
         Optional<User> userOld = userRepository.findById(userId);
         if (userOld == null) {
@@ -65,13 +164,6 @@ public class UserServiceImpl implements UserService {
         }
 
         if (userDto.getEmail() != null) {
-            if (!userDto.getEmail().matches("^[\\w-.]+@([\\w-]+\\.)+[\\w-]{2,4}$")) {
-                throw new ValidationException("Email is not valid");
-            }
-            if (!Objects.equals(userOld.get().getEmail(), userDto.getEmail()) &&
-                    userRepository.existsByEmail(userDto.getEmail())) {
-                throw new ConflictException("Email is already used");
-            }
             userOld.get().setEmail(userDto.getEmail());
         }
 
@@ -79,22 +171,51 @@ public class UserServiceImpl implements UserService {
             userOld.get().setName(userDto.getName());
         }
 
-        User updatedUser = userRepository.save(userOld.get());
+        User updatedUser = saveAndFlush(userOld.get());
         return userMapper.toUserDto(updatedUser);
     }
 
     @Override
+    @Transactional
     public void delete(Long userId) {
         if (userId == null || userId == 0) {
             throw new NotFoundException("User with id " + userId + " not found");
         }
+        // Published first: synchronous listeners still see the rows that the deletion cascades to
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
         userRepository.deleteById(userId);
     }
 
     @Override
-    public List<UserDto> findAll() {
-        return userRepository.findAll().stream()
-                .map(UserMapper::toUserDto)
-                .collect(Collectors.toList());
+    public UserPage findPage(String pageToken, int size) {
+        UserPageToken after = UserPageToken.decode(pageToken);
+        // One extra row tells whether there is a next page without a count query
+        List<UserDto> users = userRepository.findPageAfter(after == null ? 0 : after.id(),
+                Limit.of(checkPageSize(size) + 1));
+        if (users.size() <= size) {
+            return new UserPage(users, null);
+        }
+        List<UserDto> page = users.subList(0, size);
+        return new UserPage(page, new UserPageToken(page.get(size - 1).getId()).encode());
+    }
+
+    @Override
+    public void streamAll(Consumer<UserDto> consumer) {
+        long after = 0;
+        List<UserDto> chunk;
+        do {
+            chunk = userRepository.findPageAfter(after, Limit.of(STREAM_CHUNK));
+            chunk.forEach(consumer);
+            if (!chunk.isEmpty()) {
+                after = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == STREAM_CHUNK);
+    }
+
+    private int checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
     }
 }
@@ -1,14 +1,16 @@
 package ru.practicum.shareit.user.dto;
 
-import jakarta.validation.constraints.Email;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class UserDto {
     Long id;
     String name;
-    @Email
     String email;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class UserPage {
+    private List<UserDto> users;
+    private String nextPageToken;
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.validation;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+/**
+ * The one place request payloads are validated: services call these once per request, batch and import paths once
+ * per row. Each check returns {@code null} for a valid payload and the error message otherwise, so the happy path
+ * allocates nothing and throws nothing; {@link #require} turns a message into a {@link ValidationException}.
+ * Field errors read "{@code <field> <problem>}", sorted and joined with ", ".
+ */
+public final class RequestRules {
+    private static final Pattern EMAIL = Pattern.compile("^[\\w-.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+
+    private RequestRules() {
+    }
+
+    public static void require(String error) {
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+    }
+
+    /**
+     * A new user whose empty name has already been defaulted to the email.
+     */
+    public static String newUser(UserDto user) {
+        if (user.getEmail() == null || user.getEmail().isEmpty()) {
+            return "Email is required";
+        }
+        return userPatch(user);
+    }
+
+    public static String userPatch(UserDto user) {
+        if (user.getEmail() != null && !EMAIL.matcher(user.getEmail()).matches()) {
+            return "Email is not valid";
+        }
+        return size("name", user.getName(), 3, 100);
+    }
+
+    public static String newItem(ItemDto item) {
+        String errors = item.getAvailable() == null ? "available must not be null" : null;
+        errors = join(errors, required("description", item.getDescription(), 10, 1000));
+        return join(errors, required("name", item.getName(), 2, 100));
+    }
+
+    public static String itemPatch(ItemDto item) {
+        return join(size("description", item.getDescription(), 10, 1000), size("name", item.getName(), 2, 100));
+    }
+
+    /**
+     * A booking of the future; imported historical bookings are checked with {@link #bookingPeriod} only.
+     */
+    public static String newBooking(BookingDto booking, LocalDateTime now) {
+        String errors = bookingFields(booking);
+        if (errors != null) {
+            return errors;
+        }
+        if (booking.getEnd().isBefore(now)) {
+            return "The end time of the booking is incorrect";
+        }
+        if (booking.getStart().isBefore(now)) {
+            return "The booking start time is incorrect";
+        }
+        return periodOrder(booking);
+    }
+
+    public static String bookingPeriod(BookingDto booking) {
+        String errors = bookingFields(booking);
+        return errors != null ? errors : periodOrder(booking);
+    }
+
+    public static String itemRequest(ItemRequestDto request) {
+        if (request.getDescription() == null || request.getDescription().isBlank()) {
+            return "description must not be blank";
+        }
+        return null;
+    }
+
+    public static String comment(CommentDto comment) {
+        if (comment.getText() == null || comment.getText().isBlank()) {
+            return "The text in the comment is empty";
+        }
+        return null;
+    }
+
+    private static String bookingFields(BookingDto booking) {
+        String errors = booking.getEnd() == null ? "end must not be null" : null;
+        errors = join(errors, booking.getItemId() == null ? "itemId must not be null" : null);
+        return join(errors, booking.getStart() == null ? "start must not be null" : null);
+    }
+
+    private static String periodOrder(BookingDto booking) {
+        if (booking.getStart().isEqual(booking.getEnd())) {
+            return "The start and end times cannot be the same.";
+        }
+        if (booking.getEnd().isBefore(booking.getStart())) {
+            return "The start time must be earlier than the end time.";
+        }
+        return null;
+    }
+
+    private static String required(String field, String value, int min, int max) {
+        return value == null ? field + " must not be null" : size(field, value, min, max);
+    }
+
+    private static String size(String field, String value, int min, int max) {
+        if (value == null || value.length() >= min && value.length() <= max) {
+            return null;
+        }
+        return field + " size must be between " + min + " and " + max;
+    }
+
+    private static String join(String errors, String error) {
+        if (errors == null) {
+            return error;
+        }
+        return error == null ? errors : errors + ", " + error;
+    }
+}
@@ -0,0 +1,8 @@
+-- Number of comments on an item, kept by ItemCommentCounts so that item views need not count them
+ALTER TABLE items ADD COLUMN comment_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE items i SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id);
+
+-- Latest comments of an item (or a page of items) and the keyset-paged comment feed: created DESC, id DESC
+DROP INDEX idx_comments_item_created;
+CREATE INDEX idx_comments_item_created ON comments (item_id, created DESC, id DESC);
@@ -0,0 +1,4 @@
+-- BookingArchiver's keyset walk over finished bookings in end order
+CREATE INDEX idx_bookings_end ON bookings (end_date, id);
+-- The archiver keeps every item's last booking hot: NOT EXISTS (... items.last_booking_id = bookings.id)
+CREATE INDEX idx_items_last_booking ON items (last_booking_id);
@@ -1,17 +1,11 @@
-DROP TABLE IF EXISTS users cascade;
-DROP TABLE IF EXISTS items cascade;
-DROP TABLE IF EXISTS requests cascade;
-DROP TABLE IF EXISTS bookings cascade;
-DROP TABLE IF EXISTS comments cascade;
-
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(512) NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id),
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
     );
-CREATE TABLE IF NOT EXISTS  requests (
+CREATE TABLE requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY,
     description TEXT NOT NULL,
     requestor_id BIGINT NOT NULL,
@@ -19,7 +13,7 @@ CREATE TABLE IF NOT EXISTS  requests (
     FOREIGN KEY (requestor_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT pk_requests PRIMARY KEY (id)
 );
-CREATE TABLE IF NOT EXISTS items (
+CREATE TABLE items (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
     description TEXT NOT NULL,
@@ -30,7 +24,7 @@ CREATE TABLE IF NOT EXISTS items (
     FOREIGN KEY (owner_id) REFERENCES users(id),
     FOREIGN KEY (request_id) REFERENCES requests(id)
 );
-CREATE TABLE IF NOT EXISTS  bookings (
+CREATE TABLE bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY,
     start_date TIMESTAMP WITHOUT TIME ZONE,
     end_date TIMESTAMP WITHOUT TIME ZONE,
@@ -41,7 +35,7 @@ CREATE TABLE IF NOT EXISTS  bookings (
     FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT pk_bookings PRIMARY KEY (id)
 );
-CREATE TABLE IF NOT EXISTS comments (
+CREATE TABLE comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY,
     text TEXT NOT NULL,
     item_id BIGINT NOT NULL,
@@ -50,4 +44,4 @@ CREATE TABLE IF NOT EXISTS comments (
     FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
     FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT pk_comments PRIMARY KEY (id)
-);
\ No newline at end of file
+);
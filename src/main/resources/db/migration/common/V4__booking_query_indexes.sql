@@ -0,0 +1,18 @@
+-- Booker listings: booker_id = ? with an optional start/end range, ORDER BY start_date DESC, id DESC (keyset)
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+-- Booker listings by status (WAITING, REJECTED)
+CREATE INDEX idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+-- Item timelines (item_id [IN] ... ORDER BY start_date), comment eligibility (item_id, booker_id, end_date)
+-- and the per-item side of owner listings
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date, end_date);
+-- Overlap check on admission and owner listings by status
+CREATE INDEX idx_bookings_item_status_start ON bookings (item_id, status, start_date, end_date);
+
+-- Owner listings of items and the items side of owner booking listings
+CREATE INDEX idx_items_owner ON items (owner_id, id);
+
+-- Comments of an item (or a page of items) in creation order; author side of user deletion
+CREATE INDEX idx_comments_item_created ON comments (item_id, created);
+CREATE INDEX idx_comments_author ON comments (author_id);
+
+CREATE INDEX idx_users_name ON users (name);
@@ -0,0 +1,30 @@
+CREATE TABLE import_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    kind VARCHAR(20) NOT NULL,
+    file_name VARCHAR(1024) NOT NULL,
+    file_size BIGINT NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    error TEXT,
+    started TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    finished TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_import_jobs PRIMARY KEY (id)
+);
+CREATE INDEX idx_import_jobs_file ON import_jobs (kind, file_name, file_size);
+
+-- One row per committed chunk, written in the chunk's own transaction: a resumed job skips exactly these
+CREATE TABLE import_chunks (
+    job_id BIGINT NOT NULL,
+    chunk_no INTEGER NOT NULL,
+    imported INTEGER NOT NULL,
+    rejected INTEGER NOT NULL,
+    CONSTRAINT pk_import_chunks PRIMARY KEY (job_id, chunk_no),
+    FOREIGN KEY (job_id) REFERENCES import_jobs(id) ON DELETE CASCADE
+);
+CREATE TABLE import_rejects (
+    job_id BIGINT NOT NULL,
+    row_no BIGINT NOT NULL,
+    error TEXT NOT NULL,
+    CONSTRAINT pk_import_rejects PRIMARY KEY (job_id, row_no),
+    FOREIGN KEY (job_id) REFERENCES import_jobs(id) ON DELETE CASCADE
+);
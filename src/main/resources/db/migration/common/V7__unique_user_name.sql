@@ -0,0 +1,3 @@
+-- User names are unique like emails: signups rely on the constraints instead of exists-checks before the insert
+DROP INDEX idx_users_name;
+ALTER TABLE users ADD CONSTRAINT UQ_USER_NAME UNIQUE (name);
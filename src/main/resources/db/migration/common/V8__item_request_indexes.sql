@@ -0,0 +1,6 @@
+-- Own requests newest first
+CREATE INDEX idx_requests_requestor_created ON requests (requestor_id, created DESC, id DESC);
+-- Feed of all requests newest first (keyset on created, id)
+CREATE INDEX idx_requests_created ON requests (created DESC, id DESC);
+-- Answers to a page of requests: items.request_id IN (...)
+CREATE INDEX idx_items_request ON items (request_id);
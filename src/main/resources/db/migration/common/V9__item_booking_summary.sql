@@ -0,0 +1,22 @@
+-- Denormalised booking timeline of an item, kept by ItemBookingSummaries: the latest non-rejected booking that has
+-- started ("last") and the earliest one still to start ("next")
+ALTER TABLE items ADD COLUMN last_booking_id BIGINT;
+ALTER TABLE items ADD COLUMN last_booker_id BIGINT;
+ALTER TABLE items ADD COLUMN next_booking_id BIGINT;
+ALTER TABLE items ADD COLUMN next_booker_id BIGINT;
+ALTER TABLE items ADD COLUMN next_start TIMESTAMP WITHOUT TIME ZONE;
+
+-- The sweeper's scan for "next" bookings that have started since
+CREATE INDEX idx_items_next_start ON items (next_start);
+
+UPDATE items i SET
+    last_booking_id = (SELECT b.id FROM bookings b WHERE b.item_id = i.id AND b.status <> 'REJECTED'
+        AND b.start_date <= LOCALTIMESTAMP ORDER BY b.start_date DESC, b.id DESC LIMIT 1),
+    last_booker_id = (SELECT b.booker_id FROM bookings b WHERE b.item_id = i.id AND b.status <> 'REJECTED'
+        AND b.start_date <= LOCALTIMESTAMP ORDER BY b.start_date DESC, b.id DESC LIMIT 1),
+    next_booking_id = (SELECT b.id FROM bookings b WHERE b.item_id = i.id AND b.status <> 'REJECTED'
+        AND b.start_date > LOCALTIMESTAMP ORDER BY b.start_date, b.id LIMIT 1),
+    next_booker_id = (SELECT b.booker_id FROM bookings b WHERE b.item_id = i.id AND b.status <> 'REJECTED'
+        AND b.start_date > LOCALTIMESTAMP ORDER BY b.start_date, b.id LIMIT 1),
+    next_start = (SELECT b.start_date FROM bookings b WHERE b.item_id = i.id AND b.status <> 'REJECTED'
+        AND b.start_date > LOCALTIMESTAMP ORDER BY b.start_date, b.id LIMIT 1);
@@ -0,0 +1,16 @@
+-- Finished bookings moved out of the hot bookings table by BookingArchiver; ids are kept
+CREATE TABLE bookings_archive (
+    id BIGINT NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE,
+    end_date TIMESTAMP WITHOUT TIME ZONE,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id)
+);
+
+-- The archive side of the ALL/PAST/REJECTED booker and owner listings, and comment eligibility
+CREATE INDEX idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_archive_item_start ON bookings_archive (item_id, start_date, end_date);
@@ -0,0 +1,22 @@
+-- Finished bookings moved out of the hot bookings table by BookingArchiver; ids are kept. Range partitioned by
+-- start_date: BookingArchiver creates a partition per year before moving rows into it, the default partition only
+-- takes rows without a start. The hot table stays unpartitioned for its overlap exclusion constraint, which
+-- PostgreSQL cannot enforce across partitions.
+CREATE TABLE bookings_archive (
+    id BIGINT NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE,
+    end_date TIMESTAMP WITHOUT TIME ZONE,
+    item_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    FOREIGN KEY (booker_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (start_date);
+
+CREATE TABLE bookings_archive_default PARTITION OF bookings_archive DEFAULT;
+
+-- A primary key would have to include start_date; lookups by id go through this index instead
+CREATE INDEX idx_bookings_archive_id ON bookings_archive (id);
+-- The archive side of the ALL/PAST/REJECTED booker and owner listings, and comment eligibility
+CREATE INDEX idx_bookings_archive_booker_start ON bookings_archive (booker_id, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_archive_item_start ON bookings_archive (item_id, start_date, end_date);
@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS ex_bookings_item_period;
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period EXCLUDE USING GIST (
+    item_id WITH =,
+    tsrange(start_date, end_date) WITH &&
+) WHERE (status IN ('WAITING', 'APPROVED'));
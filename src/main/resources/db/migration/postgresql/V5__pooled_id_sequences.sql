@@ -0,0 +1,11 @@
+-- Pooled sequences (increment = JPA allocationSize) replace IDENTITY for users and items so that Hibernate can
+-- batch inserts. Each nextval reserves a block of 50 ids; plain SQL inserts take a block per row through the default.
+CREATE SEQUENCE users_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 1, false) FROM users;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+CREATE SEQUENCE items_seq INCREMENT BY 50 OWNED BY items.id;
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 1, false) FROM items;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
@@ -0,0 +1,116 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.batch.dto.BatchRowResult;
+import ru.practicum.shareit.batch.dto.BatchRowStatus;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BatchCreateTest {
+    private static final int ITEMS = 200;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void usersBatchReportsEveryRow() {
+        userService.create(user("taken", "taken@mail.ru"));
+
+        List<BatchRowResult<UserDto>> results = userService.createBatch(List.of(
+                user("first", "first@mail.ru"),
+                user("second", "taken@mail.ru"),
+                user("third", "first@mail.ru"),
+                user("fourth", "not-an-email"),
+                user(null, "fifth@mail.ru")));
+
+        assertEquals(List.of(BatchRowStatus.CREATED, BatchRowStatus.REJECTED, BatchRowStatus.REJECTED,
+                BatchRowStatus.REJECTED, BatchRowStatus.CREATED), results.stream().map(BatchRowResult::status).toList());
+        assertEquals("Email is already used", results.get(1).error());
+        assertEquals("Email is already used", results.get(2).error());
+        assertEquals("fifth@mail.ru", results.get(4).value().getName());
+        assertEquals(3, userRepository.count());
+    }
+
+    @Test
+    void itemsBatchResolvesOwnerOnceAndInsertsInJdbcBatches() {
+        Long owner = userService.create(user("owner", "owner@mail.ru")).getId();
+        Long otherOwner = userService.create(user("other", "other@mail.ru")).getId();
+        List<ItemDto> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new ItemDto(null, "item" + i, "description of item " + i, true,
+                    i % 2 == 0 ? null : owner, null));
+        }
+        items.set(7, new ItemDto(null, "item7", "short", true, null, null));
+        items.set(9, new ItemDto(null, "item9", "description of item 9", true, otherOwner, null));
+
+        statistics.clear();
+        List<BatchRowResult<ItemDto>> results = itemService.createBatch(items, owner);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(ITEMS, results.size());
+        assertEquals(ITEMS - 2, results.stream().filter(result -> result.status() == BatchRowStatus.CREATED).count());
+        assertEquals("description size must be between 10 and 1000", results.get(7).error());
+        assertEquals("Owner id mismatch", results.get(9).error());
+        assertEquals(owner, results.get(0).value().getOwnerId());
+        assertEquals(owner, results.get(1).value().getOwnerId());
+        assertEquals(ITEMS - 2, itemRepository.count());
+        assertEquals(0, itemRepository.findByOwnerId(otherOwner).size());
+        // At most one owner lookup, one sequence call per 50 ids and one prepared insert per JDBC batch of 50
+        assertTrue(statements <= 1 + 2 * ((ITEMS + 49) / 50), "Statements prepared: " + statements);
+    }
+
+    @Test
+    void itemsBatchForUnknownOwnerIsRejectedAsAWhole() {
+        assertThrows(NotFoundException.class, () -> itemService.createBatch(
+                List.of(new ItemDto(null, "item", "description of item", true, null, null)), -1L));
+        assertEquals(0, itemRepository.count());
+    }
+
+    private UserDto user(String name, String email) {
+        UserDto user = new UserDto();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+}
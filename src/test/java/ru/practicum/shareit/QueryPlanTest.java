@@ -0,0 +1,291 @@
+package ru.practicum.shareit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.BookingPageToken;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.BookingViewRepository;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every query method of the repositories against a seeded H2 database and fails when the H2 plan of any of
+ * them contains a full table scan. Adding a repository method without listing it here fails the test as well.
+ * <p>
+ * This checks H2 index usage only. The captured SQL is explained with NULL binds, and H2's planner is no guide to
+ * the plans PostgreSQL picks for the same statements.
+ */
+@SpringBootTest
+class QueryPlanTest {
+    private static final List<Class<?>> REPOSITORIES = List.of(BookingRepository.class, BookingViewRepository.class,
+            ArchivedBookingRepository.class, ItemRepository.class, CommentRepository.class, UserRepository.class, ItemRequestRepository.class);
+    private static final Set<String> FULL_SCAN_BY_DESIGN = Set.of(
+            // ILIKE '%text%'; the pg_trgm GIN indexes for it exist on PostgreSQL only
+            "search",
+            // PostgreSQL-only native query over the GIN tsvector index
+            "searchFullText",
+            // reads every available item to rebuild the in-memory search index
+            "streamAllByAvailableTrueOrderByIdAsc");
+
+    private static final int USERS = 500;
+    private static final int ITEMS_PER_USER = 2;
+    private static final int BOOKINGS_PER_ITEM = 10;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    private Long userId;
+    private Long itemId;
+    private Long bookingId;
+    private Long archivedBookingId;
+    private Long requestId;
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+
+    static class SqlCapture implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"user" + i, "user" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            requests.add(new Object[]{"request" + i, userIds.get(i), now.minusMinutes(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)",
+                requests);
+        List<Long> requestIds = jdbcTemplate.queryForList("SELECT id FROM requests ORDER BY id", Long.class);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int u = 0; u < userIds.size(); u++) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                Long answered = i == 0 ? requestIds.get((u + 1) % requestIds.size()) : null;
+                items.add(new Object[]{"item" + i, "description" + i, true, userIds.get(u), answered});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, available, owner_id, request_id) "
+                + "VALUES (?, ?, ?, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = now.plusDays(j - BOOKINGS_PER_ITEM / 2);
+                Long bookerId = userIds.get((i + j + 1) % userIds.size());
+                bookings.add(new Object[]{start, start.plusHours(5), itemIds.get(i), bookerId,
+                        BookingStatus.values()[j % BookingStatus.values().length].name()});
+            }
+            comments.add(new Object[]{"comment", itemIds.get(i), userIds.get((i + 1) % userIds.size()), now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                comments);
+        // What BookingArchiver would move, so that the archive side of the listings has rows to plan against
+        String archivable = "end_date < DATEADD(DAY, -2, LOCALTIMESTAMP) AND status <> 'WAITING'";
+        jdbcTemplate.update("INSERT INTO bookings_archive (id, start_date, end_date, item_id, booker_id, status) "
+                + "SELECT id, start_date, end_date, item_id, booker_id, status FROM bookings WHERE " + archivable);
+        jdbcTemplate.update("DELETE FROM bookings WHERE " + archivable);
+        jdbcTemplate.execute("ANALYZE");
+
+        userId = userIds.get(USERS / 2);
+        itemId = itemIds.get(itemIds.size() / 2);
+        requestId = requestIds.get(requestIds.size() / 2);
+        bookingId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM bookings WHERE item_id = ?", Long.class, itemId);
+        archivedBookingId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM bookings_archive WHERE item_id = ?",
+                Long.class, itemId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM bookings_archive");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void repositoryQueriesUseH2Indexes() {
+        Map<String, Runnable> queries = queries();
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isSynthetic())
+                    .map(Method::getName)
+                    .forEach(declared::add);
+        }
+        Set<String> covered = new TreeSet<>(queries.keySet());
+        covered.addAll(FULL_SCAN_BY_DESIGN);
+        assertEquals(declared, covered, "Every repository query method must be checked");
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            sqlCapture.statements.clear();
+            transaction.executeWithoutResult(status -> query.run());
+            List<String> statements = List.copyOf(sqlCapture.statements);
+            assertFalse(statements.isEmpty(), name + " issued no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan")) {
+                    failures.add(name + ":\n" + plan);
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), "Full table scans:\n" + String.join("\n\n", failures));
+    }
+
+    private Map<String, Runnable> queries() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findPage", () -> {
+            BookingPageToken after = new BookingPageToken(now, Long.MAX_VALUE);
+            for (BookingRole role : BookingRole.values()) {
+                for (BookingState state : BookingState.values()) {
+                    bookingRepository.findPage(role, userId, state, now, null, 20);
+                    bookingRepository.findPage(role, userId, state, now, after, 20);
+                }
+            }
+        });
+        queries.put("findDetailedById", () -> {
+            bookingRepository.findDetailedById(bookingId);
+            archivedBookingRepository.findDetailedById(archivedBookingId);
+        });
+        queries.put("existsByItemIdAndBookerIdAndEndBefore",
+                () -> archivedBookingRepository.existsByItemIdAndBookerIdAndEndBefore(itemId, userId, now));
+        queries.put("findAllByItemIdAndBookerIdAndEndBefore",
+                () -> bookingRepository.findAllByItemIdAndBookerIdAndEndBefore(itemId, userId, now));
+        queries.put("findAllByItemIdAndStatusNotOrderByStartAsc",
+                () -> bookingRepository.findAllByItemIdAndStatusNotOrderByStartAsc(itemId, BookingStatus.REJECTED));
+        queries.put("findAllByItemIdInAndStatusNotOrderByStartAsc",
+                () -> bookingRepository.findAllByItemIdInAndStatusNotOrderByStartAsc(List.of(itemId, itemId + 1),
+                        BookingStatus.REJECTED));
+        queries.put("existsByItemIdAndStatusInAndStartBeforeAndEndAfter",
+                () -> bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(itemId,
+                        List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now.plusHours(1), now));
+        queries.put("findByOwnerId", () -> itemRepository.findByOwnerId(userId));
+        queries.put("findOwnersByIdIn", () -> itemRepository.findOwnersByIdIn(List.of(itemId, itemId + 1)));
+        queries.put("streamByOwnerIdOrderByIdAsc", () -> {
+            try (Stream<?> items = itemRepository.streamByOwnerIdOrderByIdAsc(userId)) {
+                items.forEach(item -> { });
+            }
+        });
+        queries.put("findLatestByItemId", () -> commentRepository.findLatestByItemId(itemId, Limit.of(20)));
+        queries.put("findLatestByItemIdBefore",
+                () -> commentRepository.findLatestByItemIdBefore(itemId, now, Long.MAX_VALUE, Limit.of(20)));
+        queries.put("findLatestByItemIdIn",
+                () -> commentRepository.findLatestByItemIdIn(List.of(itemId, itemId + 1), 10));
+        queries.put("findPageAfter", () -> userRepository.findPageAfter(userId, Limit.of(20)));
+        queries.put("findIdsIn", () -> {
+            userRepository.findIdsIn(List.of(userId, userId + 1));
+            itemRequestRepository.findIdsIn(List.of(requestId, requestId + 1));
+        });
+        queries.put("findEmailsIn", () -> userRepository.findEmailsIn(List.of("user1@mail.ru", "user2@mail.ru")));
+        queries.put("findNamesIn", () -> userRepository.findNamesIn(List.of("user1", "user2")));
+        queries.put("findAnswersByRequestIdIn",
+                () -> itemRepository.findAnswersByRequestIdIn(List.of(requestId, requestId + 1)));
+        queries.put("findAllByRequestorIdOrderByCreatedDescIdDesc",
+                () -> itemRequestRepository.findAllByRequestorIdOrderByCreatedDescIdDesc(userId));
+        queries.put("findOthers", () -> itemRequestRepository.findOthers(userId, Limit.of(20)));
+        queries.put("findOthersAfter",
+                () -> itemRequestRepository.findOthersAfter(userId, now.minusHours(1), requestId, Limit.of(20)));
+        return queries;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while an action runs. It lives in the application's package, so the
+ * component scan of every {@code @SpringBootTest} context picks it up without changing the context's cache key.
+ */
+@Component
+public class StatementCounter {
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Runs {@code action} and returns its result together with the number of statements it prepared.
+     */
+    public <T> Counted<T> count(Supplier<T> action) {
+        statistics.clear();
+        T result = action.get();
+        return new Counted<>(result, statistics.getPrepareStatementCount());
+    }
+
+    public record Counted<T>(T result, long statements) {
+    }
+}
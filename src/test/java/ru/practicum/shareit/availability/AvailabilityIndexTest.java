@@ -0,0 +1,87 @@
+package ru.practicum.shareit.availability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AvailabilityIndexTest {
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner");
+        booker = saveUser("booker");
+        item = itemRepository.save(new Item(null, "drill", "simple drill", true, owner, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCache(AvailabilityIndex.CACHE_NAME).clear();
+    }
+
+    @Test
+    void rejectedThenReapprovedBookingIsBookedAgain() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime end = start.plusHours(2);
+        Long bookingId = bookingService.addBooking(booking(start, end), booker.getId()).getId();
+        assertFalse(availabilityIndex.timeline(item.getId()).isFree(start, end));
+
+        bookingService.patchBooking(owner.getId(), bookingId, false);
+        assertTrue(availabilityIndex.timeline(item.getId()).isFree(start, end));
+
+        bookingService.patchBooking(owner.getId(), bookingId, true);
+        assertFalse(availabilityIndex.timeline(item.getId()).isFree(start, end));
+
+        cacheManager.getCache(AvailabilityIndex.CACHE_NAME).clear();
+        assertFalse(availabilityIndex.timeline(item.getId()).isFree(start, end));
+    }
+
+    private BookingDto booking(LocalDateTime start, LocalDateTime end) {
+        BookingDto booking = new BookingDto();
+        booking.setItemId(item.getId());
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.ru");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.availability.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemTimelineTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final ItemTimeline timeline = ItemTimeline.of(List.of(
+            booking(3, 14, 16),
+            booking(1, 8, 20),
+            booking(2, 9, 10)));
+
+    @Test
+    void windowIsFreeOnlyOutsideOfBookedIntervals() {
+        assertTrue(timeline.isFree(at(0), at(8)));
+        assertTrue(timeline.isFree(at(20), at(23)));
+        assertFalse(timeline.isFree(at(17), at(18)));
+        assertFalse(timeline.isFree(at(7), at(9)));
+    }
+
+    @Test
+    void freeSlotsSkipIntervalsNestedInLongerOnes() {
+        assertEquals(List.of(new FreeSlotDto(at(6), at(8)), new FreeSlotDto(at(20), at(22))),
+                timeline.freeSlots(at(6), at(22)));
+        assertEquals(List.of(), timeline.freeSlots(at(12), at(15)));
+        assertEquals(List.of(new FreeSlotDto(at(21), at(23))), timeline.freeSlots(at(21), at(23)));
+    }
+
+    @Test
+    void updatesReturnNewTimeline() {
+        ItemTimeline updated = timeline.without(1).with(4, at(11), at(12));
+
+        assertEquals(3, timeline.size());
+        assertFalse(timeline.isFree(at(17), at(18)));
+        assertEquals(List.of(new FreeSlotDto(at(8), at(9)), new FreeSlotDto(at(10), at(11)),
+                        new FreeSlotDto(at(12), at(14)), new FreeSlotDto(at(16), at(20))),
+                updated.freeSlots(at(8), at(20)));
+        assertSame(updated, updated.with(4, at(11), at(12)));
+        assertSame(updated, updated.without(1));
+    }
+
+    private static Booking booking(long id, int startHour, int endHour) {
+        return new Booking(id, at(startHour), at(endHour), null, null, BookingStatus.WAITING);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BookingAdmissionTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingAdmission bookingAdmission;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        User owner = saveUser("owner");
+        booker = saveUser("booker");
+        item = itemRepository.save(new Item(null, "drill", "simple drill", true, owner, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentRequestsForSamePeriodAdmitExactlyOne() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Callable<Object>> requests = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime shiftedStart = start.plusHours(i % 2);
+            requests.add(() -> bookingService.addBooking(booking(shiftedStart, shiftedStart.plusHours(3)), booker.getId()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Object>> results = executor.invokeAll(requests);
+        executor.shutdown();
+
+        int admitted = 0;
+        for (Future<Object> result : results) {
+            try {
+                result.get();
+                admitted++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(ConflictException.class, e.getCause());
+            }
+        }
+        assertEquals(1, admitted);
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void adjacentPeriodsDoNotOverlap() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        bookingService.addBooking(booking(start, start.plusHours(1)), booker.getId());
+        bookingService.addBooking(booking(start.plusHours(1), start.plusHours(2)), booker.getId());
+
+        assertThrows(ConflictException.class,
+                () -> bookingService.addBooking(booking(start.plusMinutes(30), start.plusMinutes(90)), booker.getId()));
+        assertEquals(2, bookingRepository.count());
+    }
+
+    @Test
+    void reapprovingARejectedBookingIsCheckedForOverlaps() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Long ownerId = item.getOwner().getId();
+        Long rejected = bookingService.addBooking(booking(start, start.plusHours(2)), booker.getId()).getId();
+        bookingService.patchBooking(ownerId, rejected, false);
+        Long overlapping = bookingService.addBooking(booking(start.plusHours(1), start.plusHours(3)), booker.getId())
+                .getId();
+
+        assertThrows(ConflictException.class, () -> bookingService.patchBooking(ownerId, rejected, true));
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(rejected).orElseThrow().getStatus());
+
+        bookingService.patchBooking(ownerId, overlapping, false);
+        assertEquals(BookingStatus.APPROVED, bookingService.patchBooking(ownerId, rejected, true).getStatus());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(rejected).orElseThrow().getStatus());
+    }
+
+    @Test
+    void integrityViolationsOtherThanOverlapAreNotConflicts() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        itemRepository.delete(item);
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingAdmission.admit(
+                new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.WAITING)));
+        assertEquals(0, bookingRepository.count());
+    }
+
+    private BookingDto booking(LocalDateTime start, LocalDateTime end) {
+        BookingDto booking = new BookingDto();
+        booking.setItemId(item.getId());
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.ru");
+        return userRepository.save(user);
+    }
+}
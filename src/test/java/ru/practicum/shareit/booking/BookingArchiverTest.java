@@ -0,0 +1,128 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.IncorrectUserException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemBookingSummaryJob;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BookingArchiverTest {
+    @Autowired
+    private BookingArchiver archiver;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemBookingSummaryJob itemBookingSummaryJob;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private LocalDateTime now;
+    private Long future;
+    private Long last;
+    private Long waiting;
+    private Long rejected;
+    private Long oldest;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner");
+        booker = saveUser("booker");
+        Item item = itemRepository.save(new Item(null, "drill", "simple drill", true, owner, null));
+        now = LocalDateTime.now();
+        oldest = saveBooking(item, 400, BookingStatus.APPROVED);
+        rejected = saveBooking(item, 300, BookingStatus.REJECTED);
+        waiting = saveBooking(item, 250, BookingStatus.WAITING);
+        last = saveBooking(item, 200, BookingStatus.APPROVED);
+        future = saveBooking(item, -1, BookingStatus.WAITING);
+        itemBookingSummaryJob.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void archivesFinishedBookingsButTheLastAndWaitingOnes() {
+        assertEquals(2, archiver.archive(now.minusDays(180)));
+        assertEquals(0, archiver.archive(now.minusDays(180)));
+
+        assertEquals(List.of(oldest, rejected), jdbcTemplate.queryForList(
+                "SELECT id FROM bookings_archive ORDER BY id", Long.class));
+    }
+
+    @Test
+    void listingsReadHotAndArchivedBookings() {
+        archiver.archive(now.minusDays(180));
+
+        assertEquals(List.of(future, last, waiting, rejected, oldest), pageThrough(BookingState.ALL, 2));
+        assertEquals(List.of(last, waiting, rejected, oldest), pageThrough(BookingState.PAST, 3));
+        assertEquals(List.of(rejected), pageThrough(BookingState.REJECTED, 2));
+        assertEquals(List.of(future, waiting), pageThrough(BookingState.WAITING, 2));
+        assertEquals(List.of(future), pageThrough(BookingState.FUTURE, 2));
+        assertEquals(oldest, bookingService.getBookingById(owner.getId(), oldest).getId());
+    }
+
+    @Test
+    void archivedBookingsCannotBeChanged() {
+        archiver.archive(now.minusDays(180));
+
+        assertThrows(ConflictException.class, () -> bookingService.patchBooking(owner.getId(), rejected, true));
+        assertThrows(IncorrectUserException.class, () -> bookingService.patchBooking(booker.getId(), rejected, true));
+        assertFalse(bookingRepository.existsById(rejected));
+        assertEquals(List.of(rejected), pageThrough(BookingState.REJECTED, 2));
+        assertEquals(List.of(future, last, waiting, rejected, oldest), pageThrough(BookingState.ALL, 10));
+    }
+
+    private List<Long> pageThrough(BookingState state, int size) {
+        List<Long> ids = new ArrayList<>();
+        String pageToken = null;
+        do {
+            BookingPage page = bookingService.getAllUsersBookings(booker.getId(), state, pageToken, size);
+            page.getBookings().stream().map(BookingResponseDto::getId).forEach(ids::add);
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        return ids;
+    }
+
+    private Long saveBooking(Item item, int daysAgo, BookingStatus status) {
+        LocalDateTime start = now.minusDays(daysAgo);
+        return bookingRepository.save(new Booking(null, start, start.plusHours(5), item, booker, status)).getId();
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.ru");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.StatementCounter;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+class BookingServiceImplQueryCountTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private int users;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void bookingListingsIssueConstantNumberOfStatements() {
+        Fixture small = seed(1);
+        Fixture big = seed(20);
+
+        // The first listing of a user also checks that the user exists; later ones find the id in KnownUsers.
+        // ALL (like PAST and REJECTED) reads bookings_archive as well as the hot table: one statement each.
+        assertEquals(3, countStatements(1, () -> bookingService
+                .getAllUsersBookings(small.booker().getId(), BookingState.ALL, null, 50).getBookings()));
+        bookingService.getAllUsersBookings(big.booker().getId(), BookingState.ALL, null, 50);
+        bookingService.getAllItemOwnerBookings(small.owner().getId(), BookingState.ALL, null, 50);
+        bookingService.getAllItemOwnerBookings(big.owner().getId(), BookingState.ALL, null, 50);
+
+        for (BookingState state : List.of(BookingState.ALL, BookingState.FUTURE, BookingState.WAITING)) {
+            long smallBooker = countStatements(1, () -> bookingService
+                    .getAllUsersBookings(small.booker().getId(), state, null, 50).getBookings());
+            long bigBooker = countStatements(20, () -> bookingService
+                    .getAllUsersBookings(big.booker().getId(), state, null, 50).getBookings());
+            long smallOwner = countStatements(1, () -> bookingService
+                    .getAllItemOwnerBookings(small.owner().getId(), state, null, 50).getBookings());
+            long bigOwner = countStatements(20, () -> bookingService
+                    .getAllItemOwnerBookings(big.owner().getId(), state, null, 50).getBookings());
+
+            assertEquals(state == BookingState.ALL ? 2 : 1, smallBooker);
+            assertEquals(smallBooker, bigBooker);
+            assertEquals(smallOwner, bigOwner);
+        }
+
+        long streamed = countStatements(20, () -> {
+            List<BookingResponseDto> bookings = new ArrayList<>();
+            bookingService.streamAllItemOwnerBookings(big.owner().getId(), BookingState.ALL, bookings::add);
+            return bookings;
+        });
+        assertEquals(2, streamed);
+    }
+
+    @Test
+    void getBookingByIdLoadsItemOwnerAndBookerInOneStatement() {
+        Fixture fixture = seed(1);
+        Long bookerId = fixture.booker().getId();
+        Booking booking = bookingRepository.findAll().stream()
+                .filter(candidate -> candidate.getBooker().getId().equals(bookerId))
+                .findFirst()
+                .orElseThrow();
+
+        long statements = countStatements(1, () -> List.of(bookingService.getBookingById(bookerId, booking.getId())));
+
+        assertEquals(1, statements);
+    }
+
+    private long countStatements(int expectedBookings, Supplier<List<BookingResponseDto>> listing) {
+        StatementCounter.Counted<List<BookingResponseDto>> counted = statementCounter.count(listing);
+
+        assertEquals(expectedBookings, counted.result().size());
+        counted.result().forEach(booking -> {
+            assertNotNull(booking.getItem().getName());
+            assertNotNull(booking.getItem().getOwnerId());
+            assertNotNull(booking.getBooker().getName());
+        });
+        return counted.statements();
+    }
+
+    /**
+     * A booker with {@code count} bookings of items from distinct owners and an owner with {@code count} items
+     * booked by distinct bookers, so that lazy loading would show up as a per-row statement.
+     */
+    private Fixture seed(int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        User booker = saveUser();
+        User owner = saveUser();
+        for (int i = 0; i < count; i++) {
+            Item foreignItem = itemRepository.save(new Item(null, "item" + i, "description" + i, true, saveUser(),
+                    null));
+            bookingRepository.save(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1), foreignItem,
+                    booker, BookingStatus.WAITING));
+            Item ownItem = itemRepository.save(new Item(null, "item" + i, "description" + i, true, owner, null));
+            bookingRepository.save(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1), ownItem,
+                    saveUser(), BookingStatus.WAITING));
+        }
+        return new Fixture(booker, owner);
+    }
+
+    private User saveUser() {
+        User user = new User();
+        user.setName("user" + users);
+        user.setEmail("user" + users++ + "@mail.ru");
+        return userRepository.save(user);
+    }
+
+    private record Fixture(User booker, User owner) {
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "shareit.datasource.replica.jdbc-url=" + ReplicaRoutingTest.REPLICA_URL,
+        "shareit.datasource.replica.username=shareit",
+        "shareit.datasource.replica.password=shareit"
+})
+class ReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        DataSource replica = new DriverManagerDataSource(REPLICA_URL, "shareit", "shareit");
+        // Replication would bring the schema over; here the replica is migrated directly
+        Flyway.configure()
+                .dataSource(replica)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primaryJdbc.update("DELETE FROM users");
+        replicaJdbc.update("DELETE FROM bookings");
+        replicaJdbc.update("DELETE FROM items");
+        replicaJdbc.update("DELETE FROM users");
+    }
+
+    @Test
+    void writesGoToPrimaryAndReadOnlyTransactionsToReplica() {
+        UserDto user = new UserDto();
+        user.setName("routed");
+        user.setEmail("routed@mail.ru");
+        Long userId = userService.create(user).getId();
+
+        assertEquals(1, count(primaryJdbc));
+        assertEquals(0, count(replicaJdbc));
+        assertTrue(userService.findPage(null, 10).getUsers().isEmpty());
+
+        replicaJdbc.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", userId, "routed", "routed@mail.ru");
+
+        assertEquals(1, userService.findPage(null, 10).getUsers().size());
+
+        replicaJdbc.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", userId + 1, "owner", "owner@mail.ru");
+        replicaJdbc.update("INSERT INTO items (id, name, description, available, owner_id) VALUES (1, ?, ?, TRUE, ?)",
+                "drill", "cordless drill", userId + 1);
+        replicaJdbc.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, 1, ?, 'WAITING')", LocalDateTime.now(), LocalDateTime.now().plusDays(1), userId);
+
+        // The user check reads the primary (see KnownUsers), the listing the replica, where alone the booking exists
+        assertEquals(1, bookingService.getAllUsersBookings(userId, BookingState.ALL, null, 10).getBookings().size());
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotFlush() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        FlushMode flushMode = readOnly.execute(status -> entityManager.unwrap(Session.class).getHibernateFlushMode());
+
+        assertEquals(FlushMode.MANUAL, flushMode);
+    }
+
+    private int count(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.imports;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.imports.dto.ImportJobStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {"shareit.import.chunk-size=10", "shareit.import.parallelism=2"})
+class ImportServiceTest {
+    private static final int ITEMS = 45;
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path directory;
+
+    private long ownerId;
+    private long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@mail.ru')");
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('booker', 'booker@mail.ru')");
+        ownerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE name = 'owner'", Long.class);
+        bookerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE name = 'booker'", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM import_jobs");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void importsCsvItemsAndNdjsonBookingsRejectingInvalidRows() throws IOException {
+        StringBuilder items = new StringBuilder("name,description,available,ownerId\n");
+        items.append("\"drill, cordless\",\"18V drill\nwith \"\"two\"\" batteries\",true,").append(ownerId).append('\n');
+        items.append("saw,too short,true,").append(ownerId).append('\n');
+        items.append("ladder,aluminium ladder 3m,maybe,").append(ownerId).append('\n');
+        items.append("hammer,steel claw hammer,false,-1\n");
+        items.append("tent,").append('\n');
+        Path itemsFile = write("items.csv", items.toString());
+
+        ImportJobStatus itemsJob = importService.importFile(ImportKind.ITEMS, itemsFile);
+
+        assertEquals(ImportStatus.FINISHED, itemsJob.status());
+        assertEquals(1, itemsJob.imported());
+        assertEquals(4, itemsJob.rejected());
+        Map<String, Object> drill = jdbcTemplate.queryForMap("SELECT * FROM items");
+        assertEquals("drill, cordless", drill.get("NAME"));
+        assertEquals("18V drill\nwith \"two\" batteries", drill.get("DESCRIPTION"));
+        assertEquals(List.of("description size must be between 10 and 1000",
+                "available must be true or false, got 'maybe'",
+                "User with id=-1 not found",
+                "Expected 4 columns, got 2"), rejects(itemsJob.id()));
+
+        long itemId = (Long) drill.get("ID");
+        LocalDateTime past = LocalDateTime.of(2020, 5, 1, 10, 0);
+        Path bookingsFile = write("bookings.ndjson", String.join("\n",
+                booking(past, past.plusDays(1), itemId, bookerId, "APPROVED"),
+                booking(past.plusDays(2), past.plusDays(3), itemId, bookerId, null),
+                "",
+                booking(past, past, itemId, bookerId, "APPROVED"),
+                booking(past, past.plusDays(1), itemId, ownerId, "APPROVED"),
+                booking(past, past.plusDays(1), itemId + 100, bookerId, "APPROVED"),
+                booking(past, past.plusDays(1), itemId, bookerId, "LOST"),
+                "{\"start\": ",
+                "[1, 2]"));
+
+        ImportJobStatus bookingsJob = importService.importFile(ImportKind.BOOKINGS, bookingsFile);
+
+        assertEquals(2, bookingsJob.imported());
+        assertEquals(6, bookingsJob.rejected());
+        assertEquals(List.of("APPROVED", "WAITING"),
+                jdbcTemplate.queryForList("SELECT status FROM bookings ORDER BY start_date", String.class));
+        List<String> bookingRejects = rejects(bookingsJob.id());
+        assertEquals("The start and end times cannot be the same.", bookingRejects.get(0));
+        assertEquals("The user cannot book their item", bookingRejects.get(1));
+        assertEquals("Item with id=" + (itemId + 100) + " not found", bookingRejects.get(2));
+        assertEquals("Unknown status: LOST", bookingRejects.get(3));
+        assertEquals("Expected a JSON object", bookingRejects.get(5));
+    }
+
+    @Test
+    void resumedJobSkipsCommittedChunks() throws IOException {
+        StringBuilder items = new StringBuilder();
+        for (int i = 1; i <= ITEMS; i++) {
+            items.append("{\"name\": \"item").append(i).append("\", \"description\": \"imported item ").append(i)
+                    .append("\", \"available\": true, \"ownerId\": ").append(ownerId).append("}\n");
+        }
+        Path file = write("items.ndjson", items.toString());
+        ImportJobStatus first = importService.importFile(ImportKind.ITEMS, file);
+        assertEquals(ITEMS, first.imported());
+
+        // The state a crash leaves behind: chunks 0 and 1 committed, the rest not
+        jdbcTemplate.update("DELETE FROM items WHERE CAST(SUBSTRING(name, 5) AS INT) > 20");
+        jdbcTemplate.update("DELETE FROM import_chunks WHERE job_id = ? AND chunk_no >= 2", first.id());
+        jdbcTemplate.update("UPDATE import_jobs SET status = 'RUNNING', finished = NULL WHERE id = ?", first.id());
+
+        ImportJobStatus resumed = importService.importFile(ImportKind.ITEMS, file);
+
+        assertEquals(first.id(), resumed.id());
+        assertEquals(ImportStatus.FINISHED, resumed.status());
+        assertEquals(5, resumed.chunksDone());
+        assertEquals(ITEMS, resumed.imported());
+        assertEquals(ITEMS, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT name) FROM items", Integer.class));
+        assertEquals(ITEMS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class));
+        assertEquals(resumed, importService.importFile(ImportKind.ITEMS, file));
+    }
+
+    private List<String> rejects(long jobId) {
+        return jdbcTemplate.queryForList("SELECT error FROM import_rejects WHERE job_id = ? ORDER BY row_no",
+                String.class, jobId);
+    }
+
+    private static String booking(LocalDateTime start, LocalDateTime end, long itemId, long bookerId, String status) {
+        return "{\"start\": \"" + start + "\", \"end\": \"" + end + "\", \"itemId\": " + itemId + ", \"bookerId\": "
+                + bookerId + (status == null ? "" : ", \"status\": \"" + status + "\"") + "}";
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
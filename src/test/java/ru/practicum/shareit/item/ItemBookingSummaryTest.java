@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoBookingsAndComments;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class ItemBookingSummaryTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemBookingSummaries summaries;
+    @Autowired
+    private ItemBookingSummaryJob job;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+    private LocalDateTime now;
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.create(new UserDto(null, "owner", "owner@mail.ru")).getId();
+        bookerId = userService.create(new UserDto(null, "booker", "booker@mail.ru")).getId();
+        itemId = itemService.create(new ItemDto(null, "drill", "cordless drill", true, null, null), ownerId).getId();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // Admitted out of order: the one starting first must still end up as "next"
+        for (int days : new int[]{3, 1, 5}) {
+            bookingIds.add(bookingService.addBooking(new BookingDto(null, now.plusDays(days),
+                    now.plusDays(days + 1), itemId, null, null), bookerId).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void summaryFollowsAdmissionRejectionAndTime() {
+        Long inThreeDays = bookingIds.get(0);
+        Long tomorrow = bookingIds.get(1);
+        Long inFiveDays = bookingIds.get(2);
+        assertBookings(null, tomorrow, itemService.findById(ownerId, itemId));
+        assertBookings(null, tomorrow, itemService.findAllByOwnerId(ownerId).getFirst());
+
+        bookingService.patchBooking(ownerId, tomorrow, false);
+        assertBookings(null, inThreeDays, itemService.findById(ownerId, itemId));
+        bookingService.patchBooking(ownerId, tomorrow, true);
+        assertBookings(null, tomorrow, itemService.findAllByOwnerId(ownerId).getFirst());
+
+        assertEquals(1, job.sweep(now.plusDays(4)));
+        ItemBookingSummary swept = itemRepository.findById(itemId).orElseThrow().getBookingSummary();
+        assertEquals(new ItemBookingSummary(itemId, inThreeDays, bookerId, inFiveDays, bookerId, now.plusDays(5)),
+                swept);
+        assertEquals(0, job.sweep(now.plusDays(4)));
+
+        // Between sweeps a stale summary is recomputed on read
+        ItemBookingSummary later = summaries.current(List.of(swept), now.plusDays(6)).get(itemId);
+        assertEquals(inFiveDays, later.lastBookingId());
+        assertNull(later.nextBookingId());
+    }
+
+    @Test
+    void bookingInProgressIsTheLastOneInTheListingAsInTheItemView() {
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        User booker = userRepository.findById(bookerId).orElseThrow();
+        bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), item, booker,
+                BookingStatus.APPROVED));
+        Long inProgress = bookingRepository.save(new Booking(null, now.minusHours(1), now.plusHours(1), item, booker,
+                BookingStatus.APPROVED)).getId();
+        job.rebuild();
+
+        // The listing used to count only bookings that had ended, so it showed the one of three days ago
+        assertBookings(inProgress, bookingIds.get(1), itemService.findAllByOwnerId(ownerId).getFirst());
+        assertBookings(inProgress, bookingIds.get(1), itemService.findById(ownerId, itemId));
+    }
+
+    @Test
+    void rebuildRepairsDrift() {
+        jdbcTemplate.update("UPDATE items SET last_booking_id = 0, next_booking_id = NULL, next_start = NULL");
+
+        assertEquals(1, job.rebuild());
+
+        assertEquals(new ItemBookingSummary(itemId, null, null, bookingIds.get(1), bookerId,
+                now.plusDays(1)), itemRepository.findById(itemId).orElseThrow().getBookingSummary());
+    }
+
+    private void assertBookings(Long lastId, Long nextId, ItemDtoBookingsAndComments item) {
+        assertEquals(lastId, idOf(item.getLastBooking()));
+        assertEquals(nextId, idOf(item.getNextBooking()));
+    }
+
+    private Long idOf(BookingShortDto booking) {
+        return booking == null ? null : booking.getId();
+    }
+}
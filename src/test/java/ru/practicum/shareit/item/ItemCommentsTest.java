@@ -0,0 +1,132 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentPage;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoBookingsAndComments;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "shareit.comments.embedded=2")
+class ItemCommentsTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemCommentCountJob commentCountJob;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+    private Long itemId;
+    private Long authorId;
+    private Long otherAuthorId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.create(new UserDto(null, "owner", "owner@mail.ru")).getId();
+        authorId = userService.create(new UserDto(null, "author", "author@mail.ru")).getId();
+        otherAuthorId = userService.create(new UserDto(null, "other", "other@mail.ru")).getId();
+        itemId = itemService.create(new ItemDto(null, "drill", "cordless drill", true, null, null), ownerId).getId();
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        for (Long bookerId : List.of(authorId, otherAuthorId)) {
+            bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), item,
+                    userRepository.getReferenceById(bookerId), BookingStatus.APPROVED));
+        }
+        comment("first", authorId);
+        comment("second", otherAuthorId);
+        comment("third", authorId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void itemViewsEmbedLatestCommentsAndCount() {
+        ItemDtoBookingsAndComments byId = itemService.findById(ownerId, itemId);
+        ItemDtoBookingsAndComments listed = itemService.findAllByOwnerId(ownerId).getFirst();
+
+        for (ItemDtoBookingsAndComments item : List.of(byId, listed)) {
+            assertEquals(List.of("second", "third"), texts(item.getComments()));
+            assertEquals(List.of("other", "author"), item.getComments().stream()
+                    .map(CommentDto::getAuthorName)
+                    .toList());
+            assertEquals(3, item.getCommentCount());
+        }
+    }
+
+    @Test
+    void commentsArePagedNewestFirst() {
+        CommentPage first = itemService.findComments(itemId, null, 2);
+        assertEquals(List.of("third", "second"), texts(first.getComments()));
+
+        CommentPage second = itemService.findComments(itemId, first.getNextPageToken(), 2);
+        assertEquals(List.of("first"), texts(second.getComments()));
+        assertNull(second.getNextPageToken());
+
+        assertThrows(NotFoundException.class, () -> itemService.findComments(itemId + 1, null, 2));
+    }
+
+    @Test
+    void deletingAuthorSubtractsTheirComments() {
+        userService.delete(authorId);
+
+        ItemDtoBookingsAndComments item = itemService.findById(ownerId, itemId);
+        assertEquals(1, item.getCommentCount());
+        assertEquals(List.of("second"), texts(item.getComments()));
+    }
+
+    @Test
+    void recountRepairsDrift() {
+        assertEquals(3, itemService.findById(ownerId, itemId).getCommentCount());
+        jdbcTemplate.update("UPDATE items SET comment_count = 7");
+
+        assertEquals(1, commentCountJob.recount());
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT comment_count FROM items WHERE id = ?", Integer.class,
+                itemId));
+        assertEquals(3, itemService.findById(ownerId, itemId).getCommentCount());
+    }
+
+    private void comment(String text, Long userId) {
+        itemService.addComment(new CommentDto(null, text, null, null), itemId, userId);
+    }
+
+    private static List<String> texts(List<CommentDto> comments) {
+        return comments.stream().map(CommentDto::getText).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemSearchPagingTest {
+    private static final int ITEMS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Integer> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Long ownerId = userService.create(new UserDto(null, "owner", "owner@mail.ru")).getId();
+        for (int i = 0; i < ITEMS; i++) {
+            ids.add(itemService.create(new ItemDto(null, "drill " + i, "cordless drill", true, null, null), ownerId)
+                    .getId().intValue());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void offsetNeedNotBeAMultipleOfSize() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "drill").param("from", "3").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(ids.subList(3, 8).toArray())));
+    }
+
+    @Test
+    void defaultPageIsCappedAtTwentyAndTheRestIsReachableWithFrom() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "drill"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(20)))
+                .andExpect(jsonPath("$[*].id").value(contains(ids.subList(0, 20).toArray())));
+        mockMvc.perform(get("/items/search").param("text", "drill").param("from", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(ids.subList(20, ITEMS).toArray())));
+    }
+
+    @Test
+    void invalidPageIsRejected() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "drill").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search").param("text", "drill").param("from", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDtoBookingsAndComments;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+class ItemServiceImplQueryCountTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemBookingSummaryJob itemBookingSummaryJob;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        booker = saveUser("booker");
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findAllByOwnerIdIssuesConstantNumberOfStatements() {
+        User smallOwner = saveUser("small");
+        seedItems(smallOwner, 1);
+        User bigOwner = saveUser("big");
+        seedItems(bigOwner, 20);
+        // The bookings were saved around BookingAdmission
+        itemBookingSummaryJob.rebuild();
+
+        long smallOwnerStatements = countStatements(smallOwner.getId(), 1);
+        long bigOwnerStatements = countStatements(bigOwner.getId(), 20);
+
+        // The items, carrying their booking summaries, and the comments
+        assertEquals(2, smallOwnerStatements);
+        assertEquals(smallOwnerStatements, bigOwnerStatements);
+    }
+
+    private long countStatements(Long ownerId, int expectedItems) {
+        statistics.clear();
+        List<ItemDtoBookingsAndComments> items = itemService.findAllByOwnerId(ownerId);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(expectedItems, items.size());
+        items.forEach(item -> {
+            assertNotNull(item.getLastBooking());
+            assertNotNull(item.getNextBooking());
+            assertEquals(1, item.getComments().size());
+        });
+        return statements;
+    }
+
+    private void seedItems(User owner, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(new Item(null, "item" + i, "description" + i, true, owner, null));
+            bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), item, booker,
+                    BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3), item, booker,
+                    BookingStatus.WAITING));
+            commentRepository.save(new Comment(null, "comment" + i, item, booker, now));
+        }
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.ru");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.search.mode=in-memory")
+class ItemSearchIndexTest {
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.create(new UserDto(null, "owner", "owner@mail.ru")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void createdItemIsFoundByPrefix() {
+        Long itemId = create("Drill", "cordless drill");
+
+        assertEquals(List.of(itemId), ids(itemSearchIndex.search("dri", 0, 10)));
+        assertEquals(List.of(itemId), ids(itemSearchIndex.search("cordless dr", 0, 10)));
+        assertTrue(itemSearchIndex.search("hammer", 0, 10).isEmpty());
+    }
+
+    @Test
+    void reindexReplacesOldTerms() {
+        Long itemId = create("Drill", "cordless drill");
+
+        itemService.update(itemId, new ItemDto(null, "Hammer", "heavy hammer", null, null, null), ownerId);
+
+        assertTrue(itemSearchIndex.search("drill", 0, 10).isEmpty());
+        assertTrue(itemSearchIndex.search("cordless", 0, 10).isEmpty());
+        assertEquals(List.of(itemId), ids(itemSearchIndex.search("hammer", 0, 10)));
+    }
+
+    @Test
+    void unavailableItemIsRemoved() {
+        Long itemId = create("Drill", "cordless drill");
+        Long otherId = create("Drill press", "bench drill press");
+
+        itemService.update(itemId, new ItemDto(null, null, null, false, null, null), ownerId);
+
+        assertEquals(List.of(otherId), ids(itemSearchIndex.search("drill", 0, 10)));
+        assertTrue(itemSearchIndex.search("cordless", 0, 10).isEmpty());
+        assertTrue(itemSearchIndex.check().isConsistent());
+    }
+
+    @Test
+    void rolledBackWriteIsNotIndexed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            create("Drill", "cordless drill");
+            status.setRollbackOnly();
+        });
+
+        assertTrue(itemSearchIndex.search("drill", 0, 10).isEmpty());
+        assertTrue(itemSearchIndex.check().isConsistent());
+    }
+
+    @Test
+    void pagesFollowIdOrder() {
+        Long first = create("Drill one", "cordless drill");
+        Long second = create("Drill two", "cordless drill");
+        Long third = create("Drill three", "cordless drill");
+
+        assertEquals(List.of(first, second, third), ids(itemSearchIndex.search("drill", 0, 10)));
+        assertEquals(List.of(second), ids(itemSearchIndex.search("drill", 1, 1)));
+        assertTrue(itemSearchIndex.search("drill", 3, 10).isEmpty());
+    }
+
+    private Long create(String name, String description) {
+        return itemService.create(new ItemDto(null, name, description, true, null, null), ownerId).getId();
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
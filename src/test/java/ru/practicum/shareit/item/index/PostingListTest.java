@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTest {
+
+    @Test
+    void emptyListRoundTrips() {
+        PostingList list = PostingList.of(new long[0]);
+
+        assertSame(PostingList.EMPTY, list);
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.sizeInBytes());
+        assertArrayEquals(new long[0], list.toArray());
+    }
+
+    @Test
+    void smallGapsTakeOneByteEach() {
+        long[] ids = {1, 2, 3, 130, 257};
+        PostingList list = PostingList.of(ids);
+
+        assertArrayEquals(ids, list.toArray());
+        assertEquals(5, list.size());
+        assertEquals(5, list.sizeInBytes());
+    }
+
+    @Test
+    void largeGapsRoundTrip() {
+        long[] ids = {0, 127, 128, 16_384, 1L << 35, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        PostingList list = PostingList.of(ids);
+
+        assertArrayEquals(ids, list.toArray());
+        assertEquals(ids.length, list.size());
+    }
+
+    @Test
+    void withInsertsInOrderAndIgnoresDuplicates() {
+        PostingList list = PostingList.of(new long[]{10, 30});
+
+        assertArrayEquals(new long[]{5, 10, 20, 30, 1_000_000}, list.with(20).with(5).with(1_000_000).toArray());
+        assertSame(list, list.with(10));
+        assertArrayEquals(new long[]{7}, PostingList.EMPTY.with(7).toArray());
+    }
+
+    @Test
+    void withoutRemovesAndIgnoresMissingIds() {
+        PostingList list = PostingList.of(new long[]{1, 200, 70_000});
+
+        assertArrayEquals(new long[]{1, 70_000}, list.without(200).toArray());
+        assertArrayEquals(new long[]{200, 70_000}, list.without(1).toArray());
+        assertSame(list, list.without(2));
+        assertTrue(PostingList.of(new long[]{42}).without(42).isEmpty());
+    }
+}
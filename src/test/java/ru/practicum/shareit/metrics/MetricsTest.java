@@ -0,0 +1,85 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void ownerListingRecordsStatementsAndRows() throws Exception {
+        Long ownerId = userService.create(new UserDto(null, "owner", "owner@mail.ru")).getId();
+        for (int i = 0; i < 3; i++) {
+            itemService.create(new ItemDto(null, "item" + i, "description" + i, true, null, null), ownerId);
+        }
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", ownerId))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(SqlStatementMetricsFilter.METRIC)
+                .tags("method", "GET", "uri", "/items")
+                .summary();
+        assertNotNull(statements);
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() >= 2);
+
+        DistributionSummary rows = meterRegistry.find(RepositoryRowsInterceptor.METRIC)
+                .tags("repository", "ItemRepository", "method", "findByOwnerId")
+                .summary();
+        assertNotNull(rows);
+        assertEquals(3, rows.max());
+    }
+
+    @Test
+    void jdbcTemplateStatementsAreCountedWithHibernateOnes() {
+        Long ownerId = userService.create(new UserDto(null, "owner", "owner@mail.ru")).getId();
+
+        SqlStatementCounter.start();
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        jdbcTemplate.queryForObject("SELECT name FROM users WHERE id = ?", String.class, ownerId);
+        userRepository.findById(ownerId);
+        long statements = SqlStatementCounter.stop();
+
+        assertEquals(3, statements);
+    }
+}
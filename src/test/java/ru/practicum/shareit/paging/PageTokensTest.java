@@ -0,0 +1,51 @@
+package ru.practicum.shareit.paging;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingPageToken;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.UserPageToken;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageTokensTest {
+
+    @Test
+    void tokensRoundTrip() {
+        BookingPageToken booking = new BookingPageToken(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6_000), 42L);
+        UserPageToken user = new UserPageToken(7);
+
+        assertEquals(booking, BookingPageToken.decode(booking.encode()));
+        assertEquals(user, UserPageToken.decode(user.encode()));
+    }
+
+    @Test
+    void tokensKeepTheirWireFormat() {
+        String raw = new String(Base64.getUrlDecoder().decode(
+                new BookingPageToken(LocalDateTime.of(2026, 1, 2, 3, 4), 42L).encode()), StandardCharsets.UTF_8);
+
+        assertEquals("2026-01-02T03:04|42", raw);
+        assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString("7".getBytes(StandardCharsets.UTF_8)),
+                new UserPageToken(7).encode());
+    }
+
+    @Test
+    void missingTokenIsTheFirstPage() {
+        assertNull(BookingPageToken.decode(null));
+        assertNull(UserPageToken.decode(" "));
+    }
+
+    @Test
+    void malformedTokensAreValidationErrors() {
+        assertThrows(ValidationException.class, () -> BookingPageToken.decode("not base64!"));
+        assertThrows(ValidationException.class, () -> BookingPageToken.decode(PageTokens.encode(42L)));
+        assertThrows(ValidationException.class, () -> BookingPageToken.decode(PageTokens.encode("yesterday", 42L)));
+        assertThrows(ValidationException.class, () -> UserPageToken.decode(PageTokens.encode(1L, 2L)));
+        assertThrows(ValidationException.class, () -> UserPageToken.decode(PageTokens.encode("x")));
+    }
+}
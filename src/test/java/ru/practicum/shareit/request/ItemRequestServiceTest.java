@@ -0,0 +1,114 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPage;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ItemRequestServiceTest {
+    private static final int REQUESTS = 5;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long requestorId;
+    private Long ownerId;
+    private final List<Long> requestIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        requestorId = userService.create(new UserDto(null, "requestor", "requestor@mail.ru")).getId();
+        ownerId = userService.create(new UserDto(null, "owner", "owner@mail.ru")).getId();
+        for (int i = 0; i < REQUESTS; i++) {
+            requestIds.add(itemRequestService.create(new ItemRequestDto(null, "need a tool " + i, null, null),
+                    requestorId).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void feedPagesCarryTheirAnswersFromOneQueryPerPage() {
+        itemService.create(new ItemDto(null, "drill", "cordless drill", true, null, requestIds.get(0)), ownerId);
+        itemService.createBatch(List.of(
+                new ItemDto(null, "saw", "hand saw for wood", true, null, requestIds.get(4)),
+                new ItemDto(null, "axe", "small camping axe", true, null, requestIds.get(4))), ownerId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<List<ItemRequestDto>> pages = new ArrayList<>();
+        String token = null;
+        do {
+            statistics.clear();
+            ItemRequestPage page = itemRequestService.findOthers(ownerId, token, 2);
+            // The page of requests and the answers to all of them
+            assertEquals(2, statistics.getPrepareStatementCount());
+            pages.add(page.getRequests());
+            token = page.getNextPageToken();
+        } while (token != null);
+
+        assertEquals(List.of(2, 2, 1), pages.stream().map(List::size).toList());
+        ItemRequestDto newest = pages.getFirst().getFirst();
+        assertEquals(requestIds.get(4), newest.getId());
+        assertEquals(List.of("saw", "axe"), newest.getItems().stream().map(ItemAnswerDto::getName).toList());
+        assertEquals(ownerId, newest.getItems().getFirst().getOwnerId());
+        assertEquals(List.of("drill"), pages.getLast().getFirst().getItems().stream()
+                .map(ItemAnswerDto::getName)
+                .toList());
+        assertEquals(0, itemRequestService.findOthers(requestorId, null, 10).getRequests().size());
+
+        List<ItemRequestDto> own = itemRequestService.findOwn(requestorId);
+        assertEquals(REQUESTS, own.size());
+        assertEquals(3, own.stream().mapToInt(request -> request.getItems().size()).sum());
+        assertEquals(1, itemRequestService.findById(ownerId, requestIds.get(0)).getItems().size());
+    }
+
+    @Test
+    void answersMustReferToExistingRequests() {
+        assertThrows(NotFoundException.class, () -> itemService.create(
+                new ItemDto(null, "drill", "cordless drill", true, null, -1L), ownerId));
+        assertEquals("Item request with id=-1 not found", itemService.createBatch(List.of(
+                new ItemDto(null, "drill", "cordless drill", true, null, -1L)), ownerId).getFirst().error());
+        assertThrows(NotFoundException.class, () -> itemRequestService.findById(ownerId, -1L));
+        assertNull(itemService.create(new ItemDto(null, "drill", "cordless drill", true, null, null), ownerId)
+                .getRequestId());
+    }
+}
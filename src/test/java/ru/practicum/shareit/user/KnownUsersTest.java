@@ -0,0 +1,100 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class KnownUsersTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private KnownUsers knownUsers;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createdUsersAreKnownAndDeletedOnesAreForgotten() {
+        UserDto user = new UserDto();
+        user.setName("known");
+        user.setEmail("known@mail.ru");
+        Long userId = userService.create(user).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        itemService.create(new ItemDto(null, "drill", "cordless drill", true, null, null), userId);
+        // The owner is neither checked nor loaded
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        statistics.clear();
+        bookingService.getAllUsersBookings(userId, BookingState.ALL, null, 10);
+        // The hot and the archive side of the listing; no user lookup
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        itemRepository.deleteAll();
+        userService.delete(userId);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getAllUsersBookings(userId, BookingState.ALL,
+                null, 10));
+    }
+
+    @Test
+    void missesAreLookedUpInTheCallersTransaction() {
+        User user = new User();
+        user.setName("unseen");
+        user.setEmail("unseen@mail.ru");
+        Long userId = userRepository.save(user).getId();
+        cacheManager.getCache(KnownUsers.CACHE_NAME).clear();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> knownUsers.requireExists(userId));
+        // One lookup on the caller's connection, no transaction (and connection) of its own
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getTransactionCount());
+
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> knownUsers.requireExists(userId));
+        // Without a replica the read-only transaction reads the primary, so the answer was cached
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserPage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserPagingTest {
+    // One more than a stream chunk, so that the stream crosses a chunk boundary
+    private static final int USERS = 501;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        List<UserDto> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new UserDto(null, "user" + i, "user" + i + "@mail.ru"));
+        }
+        ids = userService.createBatch(users).stream()
+                .map(result -> result.value().getId())
+                .sorted()
+                .toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void tokensRoundTripThroughTheHeader() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        String token = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/users").param("size", "200");
+            if (token != null) {
+                request.param("pageToken", token);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            UserDto[] page = objectMapper.readValue(result.getResponse().getContentAsString(), UserDto[].class);
+            Arrays.stream(page).forEach(user -> seen.add(user.getId()));
+            sizes.add(page.length);
+            token = result.getResponse().getHeader(UserController.NEXT_PAGE_TOKEN_HEADER);
+        } while (token != null);
+
+        assertEquals(List.of(200, 200, 101), sizes);
+        assertEquals(ids, seen);
+    }
+
+    @Test
+    void lastPageCarriesNoTokenEvenWhenItIsFull() {
+        UserPage first = userService.findPage(null, USERS / 3);
+        UserPage second = userService.findPage(first.getNextPageToken(), USERS / 3);
+        UserPage last = userService.findPage(second.getNextPageToken(), USERS / 3);
+
+        assertEquals(USERS / 3, last.getUsers().size());
+        assertEquals(ids.getLast(), last.getUsers().getLast().getId());
+        assertNull(last.getNextPageToken());
+    }
+
+    @Test
+    void invalidSizeOrTokenIsRejected() throws Exception {
+        mockMvc.perform(get("/users").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users").param("size", String.valueOf(UserServiceImpl.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users").param("pageToken", "not a token!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ndjsonStreamReturnsEveryUserAcrossChunks() throws Exception {
+        MvcResult started = mockMvc.perform(get("/users").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> streamed = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            streamed.add(objectMapper.readValue(line, UserDto.class).getId());
+        }
+        assertEquals(ids, streamed);
+    }
+}
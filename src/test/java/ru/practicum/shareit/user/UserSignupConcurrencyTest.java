@@ -0,0 +1,88 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class UserSignupConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int SIGNUPS = 160;
+    private static final int DISTINCT = 20;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentSignupsWithTakenEmailOrNameEndInConflicts() throws InterruptedException {
+        List<Callable<UserDto>> signups = new ArrayList<>();
+        for (int i = 0; i < SIGNUPS; i++) {
+            // The first half races for DISTINCT emails, the second half for DISTINCT names
+            UserDto user = i < SIGNUPS / 2
+                    ? user("by-email-" + i, "taken" + i % DISTINCT + "@mail.ru")
+                    : user("nick" + i % DISTINCT, "by-name-" + i + "@mail.ru");
+            signups.add(() -> userService.create(user));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<UserDto>> results = executor.invokeAll(signups);
+        executor.shutdown();
+        long statements = statistics.getPrepareStatementCount();
+
+        int created = 0;
+        Map<String, Integer> conflicts = new HashMap<>();
+        for (Future<UserDto> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException e) {
+                ConflictException conflict = assertInstanceOf(ConflictException.class, e.getCause());
+                conflicts.merge(conflict.getMessage(), 1, Integer::sum);
+            }
+        }
+        assertEquals(2 * DISTINCT, created);
+        assertEquals(Map.of("Email is already used", SIGNUPS / 2 - DISTINCT,
+                "Username is used", SIGNUPS / 2 - DISTINCT), conflicts);
+        assertEquals(2 * DISTINCT, userRepository.count());
+        // One insert per signup plus a sequence call per 50 ids, winning or not
+        assertTrue(statements <= SIGNUPS + SIGNUPS / 50 + 1, "Statements prepared: " + statements);
+    }
+
+    private UserDto user(String name, String email) {
+        UserDto user = new UserDto();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+}